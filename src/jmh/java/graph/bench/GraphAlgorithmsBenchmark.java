@@ -0,0 +1,181 @@
+package graph.bench;
+
+import graph.CsrGraph;
+import graph.EdgeList;
+import graph.dagsp.DAGShortestPaths;
+import graph.gen.GraphGenerator;
+import graph.scc.Condensation;
+import graph.scc.ParallelSCC;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// java -jar target/benchmarks.jar GraphAlgorithmsBenchmark -prof gc
+// shape: "dag" (random DAG), "sparse_scc" (random digraph, many small SCCs),
+//        "giant_scc" (one big cycle with chords plus an acyclic tail)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xss512m", "--add-modules=jdk.incubator.vector"})
+public class GraphAlgorithmsBenchmark {
+    @Param({"1000", "100000"})
+    public int n;
+
+    @Param({"2", "8"})
+    public int avgDegree;
+
+    @Param({"dag", "sparse_scc", "giant_scc"})
+    public String shape;
+
+    private CsrGraph g;
+    private int[] compOf;
+    private int components;
+    private CsrGraph dag;
+    private int[] dagTopo;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        g = build(shape, n, avgDegree, 42);
+        TarjanSCC t = new TarjanSCC(g);
+        components = t.runIterative().size();
+        compOf = t.compOf();
+        dag = Condensation.build(g, compOf, components).dag;
+        dagTopo = TopologicalSort.kahnSort(dag);
+    }
+
+    @Benchmark
+    public List<List<Integer>> tarjanRecursive() { return new TarjanSCC(g).run(); }
+
+    @Benchmark
+    public List<List<Integer>> tarjanIterative() { return new TarjanSCC(g).runIterative(); }
+
+    // Fixed inputs for recursive vs iterative Tarjan, independent of the @Params above (pin them, e.g.
+    // -p n=1000 -p avgDegree=2 -p shape=dag, to avoid identical repeats): a closed 5k chain (deepest
+    // recursion), a 300x300 grid with one SCC per row, and a 200k-vertex / 1M-edge random digraph.
+    @State(Scope.Benchmark)
+    public static class TarjanInputs {
+        CsrGraph chain, grid, random;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            chain = chain(5_000);
+            grid = grid(300, 300);
+            random = random(200_000, 1_000_000, 42);
+        }
+    }
+
+    @Benchmark
+    public List<List<Integer>> tarjanRecursiveChain(TarjanInputs in) { return new TarjanSCC(in.chain).run(); }
+
+    @Benchmark
+    public List<List<Integer>> tarjanIterativeChain(TarjanInputs in) { return new TarjanSCC(in.chain).runIterative(); }
+
+    @Benchmark
+    public List<List<Integer>> tarjanRecursiveGrid(TarjanInputs in) { return new TarjanSCC(in.grid).run(); }
+
+    @Benchmark
+    public List<List<Integer>> tarjanIterativeGrid(TarjanInputs in) { return new TarjanSCC(in.grid).runIterative(); }
+
+    @Benchmark
+    public List<List<Integer>> tarjanRecursiveRandom(TarjanInputs in) { return new TarjanSCC(in.random).run(); }
+
+    @Benchmark
+    public List<List<Integer>> tarjanIterativeRandom(TarjanInputs in) { return new TarjanSCC(in.random).runIterative(); }
+
+    @Benchmark
+    public List<List<Integer>> parallelScc() { return new ParallelSCC(g).run(); }
+
+    @Benchmark
+    public Condensation condensation() { return Condensation.build(g, compOf, components); }
+
+    @Benchmark
+    public int[] kahnSortCsr() { return TopologicalSort.kahnSort(dag); }
+
+    @Benchmark
+    public List<Integer> kahnSortLists() {
+        List<List<Integer>> adj = new ArrayList<>(dag.n);
+        for (int u = 0; u < dag.n; u++) {
+            List<Integer> out = new ArrayList<>(dag.outDegree(u));
+            for (int i = dag.offsets[u]; i < dag.offsets[u + 1]; i++) out.add(dag.targets[i]);
+            adj.add(out);
+        }
+        return TopologicalSort.kahnSort(dag.n, adj);
+    }
+
+    @Benchmark
+    public void dagShortestAndLongest(Blackhole bh) {
+        DAGShortestPaths sp = new DAGShortestPaths(dag);
+        int src = dagTopo.length == 0 ? 0 : dagTopo[0];
+        bh.consume(sp.shortestPaths(src, dagTopo));
+        bh.consume(sp.longestPaths(src, dagTopo));
+    }
+
+    // 64 sources in one pass vs 64 single-source calls
+    @Benchmark
+    public int[][] dagShortestMultiSource() {
+        return new DAGShortestPaths(dag).shortestPaths(sources(64), dagTopo);
+    }
+
+    @Benchmark
+    public void dagShortestPerSource(Blackhole bh) {
+        DAGShortestPaths sp = new DAGShortestPaths(dag);
+        for (int s : sources(64)) bh.consume(sp.shortestPaths(s, dagTopo));
+    }
+
+    private int[] sources(int k) {
+        int[] s = new int[k];
+        for (int i = 0; i < k; i++) s[i] = dagTopo[(int) ((long) i * dagTopo.length / k)];
+        return s;
+    }
+
+    static CsrGraph chain(int n) {
+        EdgeList es = new EdgeList(n);
+        for (int i = 0; i + 1 < n; i++) es.add(i, i + 1, 1);
+        es.add(n - 1, 0, 1);
+        return es.toCsr(n);
+    }
+
+    // right/down edges plus a back edge per row, so every row is one SCC
+    static CsrGraph grid(int rows, int cols) {
+        EdgeList es = new EdgeList(2 * rows * cols);
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++) {
+                int v = r * cols + c;
+                if (c + 1 < cols) es.add(v, v + 1, 1);
+                if (r + 1 < rows) es.add(v, v + cols, 1);
+            }
+        for (int r = 0; r < rows; r++) es.add(r * cols + cols - 1, r * cols, 1);
+        return es.toCsr(rows * cols);
+    }
+
+    static CsrGraph random(int n, int m, long seed) {
+        Random rnd = new Random(seed);
+        EdgeList es = new EdgeList(m);
+        for (int i = 0; i < m; i++) es.add(rnd.nextInt(n), rnd.nextInt(n), 1);
+        return es.toCsr(n);
+    }
+
+    static CsrGraph build(String shape, int n, int avgDegree, long seed) {
+        GraphGenerator.Shape s = switch (shape) {
+            case "dag" -> GraphGenerator.Shape.DAG;
+            case "sparse_scc" -> GraphGenerator.Shape.RANDOM;
+            case "giant_scc" -> GraphGenerator.Shape.GIANT_SCC_TAIL;
+            default -> throw new IllegalArgumentException("unknown shape " + shape);
+        };
+        GraphGenerator gen = new GraphGenerator(s, n, n * avgDegree, seed, 100);
+        EdgeList edges = new EdgeList(gen.m);
+        try {
+            gen.forEachEdge(edges::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return edges.toCsr(n);
+    }
+}
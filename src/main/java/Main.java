@@ -1,3 +1,4 @@
+import graph.CsrGraph;
 import graph.scc.TarjanSCC;
 import graph.topo.TopologicalSort;
 import graph.dagsp.DAGShortestPaths;
@@ -16,23 +17,18 @@ public class Main {
                 {5, 6, 5},
                 {6, 7, 1}
         };
-        TarjanSCC tarjan = new TarjanSCC(n);
-        for (int[] e : edges) tarjan.addEdge(e[0], e[1]);
+        CsrGraph g = CsrGraph.of(n, edges);
+        TarjanSCC tarjan = new TarjanSCC(g);
         List<List<Integer>> comps = tarjan.run();
 
         System.out.println("SCC Components:");
         for (List<Integer> c : comps)
             System.out.println(c);
 
-        List<List<Integer>> dag = new ArrayList<>();
-        for (int i = 0; i < n; i++) dag.add(new ArrayList<>());
-        for (int[] e : edges) dag.get(e[0]).add(e[1]);
+        int[] topo = TopologicalSort.kahnSort(g);
+        System.out.println("\nTopological Order: " + Arrays.toString(topo));
 
-        List<Integer> topo = TopologicalSort.kahnSort(n, dag);
-        System.out.println("\nTopological Order: " + topo);
-
-        DAGShortestPaths sp = new DAGShortestPaths(n);
-        for (int[] e : edges) sp.addEdge(e[0], e[1], e[2]);
+        DAGShortestPaths sp = new DAGShortestPaths(g);
 
         int src = 4;
         int[] dist = sp.shortestPaths(src, topo);
@@ -0,0 +1,130 @@
+package graph;
+
+import java.io.*;
+import java.lang.foreign.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+import static graph.OffHeapGraph.INT;
+
+// Reads the container written by BinaryGraphWriter. The whole file is mapped once, into a shared
+// arena owned by the reader; records are located by offset and never parsed edge by edge.
+// nextView() is the zero-copy path: it returns slices of that mapping, valid until close(). For a
+// LAYOUT_CSR record (GraphConvert json2bin --csr) it is an OffHeapGraph the off-heap algorithm
+// variants run on directly. next() and nextCsr() are the opt-in heap copies: one bulk copy per array.
+public final class BinaryGraphReader implements Iterator<GraphIO.GraphSpec>, Closeable {
+    private static final ValueLayout.OfLong LONG_U = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT_U = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena = Arena.ofShared();
+    private final MemorySegment file;
+    private final int count;
+    private int read;
+    private long pos;
+
+    // One record as slices of the mapping. csr is set for LAYOUT_CSR records, u/v/w for LAYOUT_EDGES.
+    public static final class View {
+        public final String name, weightModel;
+        public final boolean directed;
+        public final int n, m, source;
+        public final OffHeapGraph csr;
+        public final MemorySegment u, v, w;
+
+        View(String name, String weightModel, boolean directed, int n, int m, int source,
+             OffHeapGraph csr, MemorySegment u, MemorySegment v, MemorySegment w) {
+            this.name = name; this.weightModel = weightModel; this.directed = directed;
+            this.n = n; this.m = m; this.source = source;
+            this.csr = csr; this.u = u; this.v = v; this.w = w;
+        }
+
+        public boolean isCsr() { return csr != null; }
+    }
+
+    public BinaryGraphReader(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < BinaryGraphWriter.FILE_HEADER_BYTES) throw new IOException(path + " is not a binary graph file");
+            file = ch.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+        if (file.get(INT, 0) != BinaryGraphWriter.MAGIC) { arena.close(); throw new IOException(path + " is not a binary graph file"); }
+        int version = file.get(INT, 4);
+        if (version != BinaryGraphWriter.VERSION) { arena.close(); throw new IOException("unsupported binary graph version " + version); }
+        count = file.get(INT, 8);
+        pos = BinaryGraphWriter.FILE_HEADER_BYTES;
+    }
+
+    public static boolean isBinary(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] b = in.readNBytes(4);
+            return b.length == 4 && ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN).getInt() == BinaryGraphWriter.MAGIC;
+        }
+    }
+
+    public int count() { return count; }
+
+    @Override
+    public boolean hasNext() { return read < count; }
+
+    // The next graph as slices of the mapping; nothing is copied.
+    public View nextView() {
+        if (!hasNext()) throw new NoSuchElementException();
+        long recordBytes = file.get(LONG_U, pos);
+        int n = file.get(INT, pos + 8), m = file.get(INT, pos + 12), source = file.get(INT, pos + 16);
+        boolean directed = file.get(ValueLayout.JAVA_BYTE, pos + 20) != 0;
+        byte layout = file.get(ValueLayout.JAVA_BYTE, pos + 21);
+        int nameLen = file.get(SHORT_U, pos + 24);
+        String name = string(pos + 26, nameLen);
+        int wmLen = file.get(SHORT_U, pos + 26 + nameLen);
+        String wm = string(pos + 28 + nameLen, wmLen);
+        int strBytes = 2 + nameLen + 2 + wmLen;
+        long arrays = pos + 24 + strBytes + ((4 - (strBytes & 3)) & 3);
+        pos += 8 + recordBytes;
+        read++;
+        if (layout == BinaryGraphWriter.LAYOUT_CSR) {
+            long t = arrays + 4L * (n + 1);
+            OffHeapGraph g = OffHeapGraph.viewIntOffsets(n, m, file.asSlice(arrays, 4L * (n + 1)),
+                    file.asSlice(t, 4L * m), file.asSlice(t + 4L * m, 4L * m));
+            return new View(name, wm, directed, n, m, source, g, null, null, null);
+        }
+        return new View(name, wm, directed, n, m, source, null,
+                file.asSlice(arrays, 4L * m), file.asSlice(arrays + 4L * m, 4L * m), file.asSlice(arrays + 8L * m, 4L * m));
+    }
+
+    @Override
+    public GraphIO.GraphSpec next() {
+        View r = nextView();
+        EdgeList edges;
+        if (r.isCsr()) {
+            int[] offsets = r.csr.offsets.toArray(INT);
+            int[] us = new int[r.m];
+            for (int u = 0; u < r.n; u++) Arrays.fill(us, offsets[u], offsets[u + 1], u);
+            edges = new EdgeList(us, r.csr.targets.toArray(INT), r.csr.weights.toArray(INT), r.m);
+        } else {
+            edges = new EdgeList(r.u.toArray(INT), r.v.toArray(INT), r.w.toArray(INT), r.m);
+        }
+        return new GraphIO.GraphSpec(r.name, r.directed, r.n, edges, r.source, r.weightModel);
+    }
+
+    // The next graph as a heap CsrGraph; LAYOUT_CSR records are copied as stored, without the counting sort.
+    public CsrGraph nextCsr() {
+        View r = nextView();
+        if (r.isCsr()) return new CsrGraph(r.n, r.csr.offsets.toArray(INT), r.csr.targets.toArray(INT), r.csr.weights.toArray(INT));
+        return CsrGraph.of(r.n, r.u.toArray(INT), r.v.toArray(INT), r.w.toArray(INT), r.m);
+    }
+
+    public void skip() { nextView(); }
+
+    // Unmaps the file: every View handed out becomes invalid.
+    @Override
+    public void close() { arena.close(); }
+
+    private String string(long at, int len) {
+        return new String(file.asSlice(at, len).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+}
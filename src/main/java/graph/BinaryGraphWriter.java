@@ -0,0 +1,118 @@
+package graph;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+// Binary graph container, little-endian and 4-byte aligned throughout:
+//   file:   int magic "GRPH", int version, int graphCount
+//   record: long recordBytes (bytes after this field), int n, int m, int source,
+//           byte directed, byte layout, short 0, short nameLen, name, short wmLen, weight_model, pad to 4,
+//           LAYOUT_EDGES: int[m] u, int[m] v, int[m] w   (original edge order)
+//           LAYOUT_CSR:   int[n+1] offsets, int[m] targets, int[m] weights
+public final class BinaryGraphWriter implements Closeable {
+    static final int MAGIC = 0x48505247;
+    static final int VERSION = 1;
+    static final int FILE_HEADER_BYTES = 12;
+    public static final byte LAYOUT_EDGES = 0, LAYOUT_CSR = 1;
+
+    private final FileChannel ch;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+    private int count;
+
+    public BinaryGraphWriter(Path path) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(0);
+    }
+
+    public void write(GraphIO.GraphSpec g) throws IOException {
+        write(g, LAYOUT_EDGES);
+    }
+
+    public void write(GraphIO.GraphSpec g, byte layout) throws IOException {
+        EdgeList es = g.edgeList;
+        int m = es.size();
+        writeHeader(g.name, g.directed, g.n, m, g.source, g.weightModel, layout);
+        if (layout == LAYOUT_CSR) {
+            CsrGraph csr = es.toCsr(g.n);
+            putInts(csr.offsets, csr.offsets.length);
+            putInts(csr.targets, m);
+            putInts(csr.weights, m);
+        } else {
+            putInts(es.rawU(), m);
+            putInts(es.rawV(), m);
+            putInts(es.rawW(), m);
+        }
+        count++;
+    }
+
+    // Streams a graph whose edges never exist in memory: the source is replayed once per column
+    // (u, v, w), e.g. a seeded generator.
+    public void write(String name, boolean directed, int n, int m, int source, String wm,
+                      EdgeSource edges) throws IOException {
+        writeHeader(name, directed, n, m, source, wm, LAYOUT_EDGES);
+        for (int col = 0; col < 3; col++) {
+            final int c = col;
+            long[] written = {0};
+            edges.forEachEdge((u, v, w) -> {
+                put(4);
+                buf.putInt(c == 0 ? u : c == 1 ? v : w);
+                written[0]++;
+            });
+            if (written[0] != m) throw new IOException("edge source produced " + written[0] + " edges, expected " + m);
+        }
+        count++;
+    }
+
+    private void writeHeader(String graphName, boolean directed, int n, int m, int source, String weightModel, byte layout) throws IOException {
+        byte[] name = graphName.getBytes(StandardCharsets.UTF_8);
+        byte[] wm = weightModel.getBytes(StandardCharsets.UTF_8);
+        if (name.length > 8192 || wm.length > 8192) throw new IOException("name or weight_model longer than 8 KiB: " + graphName);
+        int strBytes = 2 + name.length + 2 + wm.length;
+        int pad = (4 - (strBytes & 3)) & 3;
+        long arrays = layout == LAYOUT_CSR ? 4L * (n + 1) + 8L * m : 12L * m;
+        long recordBytes = 16 + strBytes + pad + arrays;
+
+        put(8 + 16 + strBytes + pad);
+        buf.putLong(recordBytes).putInt(n).putInt(m).putInt(source)
+                .put((byte) (directed ? 1 : 0)).put(layout).putShort((short) 0)
+                .putShort((short) name.length).put(name).putShort((short) wm.length).put(wm);
+        for (int i = 0; i < pad; i++) buf.put((byte) 0);
+    }
+
+    public int count() { return count; }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer hdr = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(count).flip();
+            ch.write(hdr, 8);
+        } finally {
+            ch.close();
+        }
+    }
+
+    private void putInts(int[] a, int len) throws IOException {
+        for (int off = 0; off < len; ) {
+            put(4);
+            int k = Math.min(len - off, buf.remaining() / 4);
+            buf.asIntBuffer().put(a, off, k);
+            buf.position(buf.position() + 4 * k);
+            off += k;
+        }
+    }
+
+    private void put(int bytes) throws IOException {
+        if (buf.remaining() < bytes) flush();
+    }
+
+    private void flush() throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+}
@@ -0,0 +1,72 @@
+package graph;
+
+import java.util.*;
+
+public final class CsrGraph {
+    public final int n, m;
+    public final int[] offsets, targets, weights;
+
+    public CsrGraph(int n, int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length != n + 1) throw new IllegalArgumentException("offsets length must be n + 1");
+        if (targets.length != offsets[n] || weights.length != offsets[n])
+            throw new IllegalArgumentException("targets/weights length must equal offsets[n]");
+        this.n = n; this.m = offsets[n];
+        this.offsets = offsets; this.targets = targets; this.weights = weights;
+    }
+
+    public static CsrGraph of(GraphIO.GraphSpec g) {
+        return g.edgeList.toCsr(g.n);
+    }
+
+    public static CsrGraph of(int n, List<int[]> edges) {
+        int m = edges.size();
+        int[] us = new int[m], vs = new int[m], ws = new int[m];
+        for (int i = 0; i < m; i++) {
+            int[] e = edges.get(i);
+            us[i] = e[0]; vs[i] = e[1]; ws[i] = e.length > 2 ? e[2] : 1;
+        }
+        return of(n, us, vs, ws, m);
+    }
+
+    public static CsrGraph of(int n, int[][] edges) {
+        return of(n, Arrays.asList(edges));
+    }
+
+    // Counting sort by source; stable, so each vertex keeps its edges in insertion order.
+    public static CsrGraph of(int n, int[] us, int[] vs, int[] ws, int m) {
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            checkVertex(n, us[i]); checkVertex(n, vs[i]);
+            offsets[us[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] pos = Arrays.copyOf(offsets, n);
+        int[] targets = new int[m], weights = new int[m];
+        for (int i = 0; i < m; i++) {
+            int p = pos[us[i]]++;
+            targets[p] = vs[i];
+            weights[p] = ws == null ? 1 : ws[i];
+        }
+        return new CsrGraph(n, offsets, targets, weights);
+    }
+
+    public int outDegree(int v) { return offsets[v + 1] - offsets[v]; }
+
+    public CsrGraph transpose() {
+        int[] offs = new int[n + 1];
+        for (int i = 0; i < m; i++) offs[targets[i] + 1]++;
+        for (int v = 0; v < n; v++) offs[v + 1] += offs[v];
+        int[] pos = Arrays.copyOf(offs, n);
+        int[] ts = new int[m], ws = new int[m];
+        for (int u = 0; u < n; u++)
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int p = pos[targets[i]]++;
+                ts[p] = u; ws[p] = weights[i];
+            }
+        return new CsrGraph(n, offs, ts, ws);
+    }
+
+    private static void checkVertex(int n, int v) {
+        if (v < 0 || v >= n) throw new IllegalArgumentException("vertex " + v + " out of range [0, " + n + ")");
+    }
+}
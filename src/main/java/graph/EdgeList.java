@@ -0,0 +1,53 @@
+package graph;
+
+import java.util.*;
+
+public final class EdgeList {
+    private int[] us, vs, ws;
+    private int size;
+
+    public EdgeList() { this(16); }
+
+    public EdgeList(int capacity) {
+        capacity = Math.max(1, capacity);
+        us = new int[capacity]; vs = new int[capacity]; ws = new int[capacity];
+    }
+
+    // Wraps already-filled arrays without copying (used by the binary reader).
+    EdgeList(int[] us, int[] vs, int[] ws, int size) {
+        this.us = us; this.vs = vs; this.ws = ws; this.size = size;
+    }
+
+    public void add(int u, int v, int w) {
+        if (size == us.length) {
+            int cap = Math.max(16, us.length * 2);
+            us = Arrays.copyOf(us, cap); vs = Arrays.copyOf(vs, cap); ws = Arrays.copyOf(ws, cap);
+        }
+        us[size] = u; vs[size] = v; ws[size] = w;
+        size++;
+    }
+
+    public int size() { return size; }
+    public int u(int i) { return us[i]; }
+    public int v(int i) { return vs[i]; }
+    public int w(int i) { return ws[i]; }
+
+    int[] rawU() { return us; }
+    int[] rawV() { return vs; }
+    int[] rawW() { return ws; }
+
+    // Read-only view in the {u, v, w} shape GraphSpec.edges has always exposed; arrays are created per get.
+    public List<int[]> asList() {
+        return new AbstractList<>() {
+            @Override public int[] get(int i) {
+                Objects.checkIndex(i, size);
+                return new int[]{us[i], vs[i], ws[i]};
+            }
+            @Override public int size() { return size; }
+        };
+    }
+
+    public CsrGraph toCsr(int n) {
+        return CsrGraph.of(n, us, vs, ws, size);
+    }
+}
@@ -0,0 +1,8 @@
+package graph;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface EdgeSink {
+    void edge(int u, int v, int w) throws IOException;
+}
@@ -0,0 +1,9 @@
+package graph;
+
+import java.io.IOException;
+
+// A replayable edge stream: every call must emit the same edges in the same order.
+@FunctionalInterface
+public interface EdgeSource {
+    void forEachEdge(EdgeSink sink) throws IOException;
+}
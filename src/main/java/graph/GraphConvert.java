@@ -0,0 +1,21 @@
+package graph;
+
+import java.io.IOException;
+
+// java graph.GraphConvert json2bin <in.json> <out.bin> [--csr]
+// java graph.GraphConvert bin2json <in.bin> <out.json>
+public class GraphConvert {
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("json2bin")) {
+            byte layout = args.length > 3 && args[3].equals("--csr") ? BinaryGraphWriter.LAYOUT_CSR : BinaryGraphWriter.LAYOUT_EDGES;
+            int c = GraphIO.convertToBinary(args[1], args[2], layout);
+            System.out.println("Wrote " + c + " graphs to " + args[2]);
+        } else if (args.length == 3 && args[0].equals("bin2json")) {
+            int c = GraphIO.convertToJson(args[1], args[2]);
+            System.out.println("Wrote " + c + " graphs to " + args[2]);
+        } else {
+            System.err.println("usage: GraphConvert json2bin <in.json> <out.bin> [--csr] | bin2json <in.bin> <out.json>");
+            System.exit(2);
+        }
+    }
+}
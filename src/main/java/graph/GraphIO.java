@@ -4,46 +4,108 @@ import org.json.*;
 import java.nio.file.*;
 import java.io.*;
 import java.util.*;
+import java.util.stream.*;
 
 public class GraphIO {
     public static class GraphSpec {
         public final String name; public final boolean directed; public final int n;
-        public final List<int[]> edges; public final int source; public final String weightModel;
+        public final int source; public final String weightModel;
+        public final EdgeList edgeList;  // the only copy of the edges
+        // Legacy {u, v, w} view over edgeList; every get() allocates an int[3], so hot code should
+        // read edgeList.u/v/w(i) instead.
+        @Deprecated
+        public final List<int[]> edges;
         public GraphSpec(String name, boolean directed, int n, List<int[]> edges, int source, String wm) {
+            this(name, directed, n, toEdgeList(edges), source, wm);
+        }
+        public GraphSpec(String name, boolean directed, int n, EdgeList edges, int source, String wm) {
             this.name = name; this.directed = directed; this.n = n;
-            this.edges = edges; this.source = source; this.weightModel = wm;
+            this.edgeList = edges; this.edges = edges.asList(); this.source = source; this.weightModel = wm;
+        }
+        private static EdgeList toEdgeList(List<int[]> edges) {
+            EdgeList el = new EdgeList(edges.size());
+            for (int[] e : edges) el.add(e[0], e[1], e.length > 2 ? e[2] : 1);
+            return el;
         }
     }
 
     public static List<GraphSpec> loadGraphs(String path) throws IOException {
-        String content = Files.readString(resolve(path));
-        JSONObject root = new JSONObject(content);
-        JSONArray arr = root.getJSONArray("graphs");
         List<GraphSpec> list = new ArrayList<>();
-        for (int i = 0; i < arr.length(); i++) {
-            JSONObject g = arr.getJSONObject(i);
-            String name = g.optString("name", "graph_"+i);
-            boolean directed = g.optBoolean("directed", true);
-            int n = g.getInt("n");
-            int source = g.optInt("source", 0);
-            String wm = g.optString("weight_model", "edge");
-            JSONArray es = g.getJSONArray("edges");
-            List<int[]> edges = new ArrayList<>();
-            for (int j = 0; j < es.length(); j++) {
-                JSONObject e = es.getJSONObject(j);
-                edges.add(new int[]{ e.getInt("u"), e.getInt("v"), e.optInt("w", 1)});
-            }
-            list.add(new GraphSpec(name, directed, n, edges, source, wm));
+        try (Stream<GraphSpec> s = streamGraphs(path)) {
+            s.forEach(list::add);
         }
         return list;
     }
 
+    public static JsonGraphReader openGraphs(String path) throws IOException {
+        return JsonGraphReader.open(resolve(path));
+    }
+
+    public static BinaryGraphReader openBinary(String path) throws IOException {
+        return new BinaryGraphReader(resolve(path));
+    }
+
+    // Lazily parsed graphs from a JSON or binary batch (detected by magic number);
+    // close the stream (try-with-resources) to release the file.
+    public static Stream<GraphSpec> streamGraphs(String path) throws IOException {
+        Path p = resolve(path);
+        if (BinaryGraphReader.isBinary(p)) return stream(new BinaryGraphReader(p));
+        return stream(JsonGraphReader.open(p));
+    }
+
+    private static <R extends Iterator<GraphSpec> & Closeable> Stream<GraphSpec> stream(R r) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(r, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try { r.close(); }
+                    catch (IOException e) { throw new UncheckedIOException(e); }
+                });
+    }
+
+    public static int convertToBinary(String jsonPath, String binPath, byte layout) throws IOException {
+        try (Stream<GraphSpec> in = streamGraphs(jsonPath);
+             BinaryGraphWriter out = new BinaryGraphWriter(Path.of(binPath))) {
+            for (Iterator<GraphSpec> it = in.iterator(); it.hasNext(); ) out.write(it.next(), layout);
+            return out.count();
+        }
+    }
+
+    public static int convertToJson(String binPath, String jsonPath) throws IOException {
+        Path p = Path.of(jsonPath);
+        if (p.getParent() != null) Files.createDirectories(p.getParent());
+        int count = 0;
+        try (BinaryGraphReader in = openBinary(binPath);
+             Writer out = Files.newBufferedWriter(p)) {
+            out.write("{\"graphs\": [");
+            while (in.hasNext()) {
+                GraphSpec g = in.next();
+                JSONArray es = new JSONArray();
+                EdgeList el = g.edgeList;
+                for (int i = 0; i < el.size(); i++) es.put(new JSONObject().put("u", el.u(i)).put("v", el.v(i)).put("w", el.w(i)));
+                JSONObject j = new JSONObject().put("name", g.name).put("directed", g.directed).put("n", g.n)
+                        .put("edges", es).put("source", g.source).put("weight_model", g.weightModel);
+                if (count++ > 0) out.write(",");
+                out.write("\n");
+                j.write(out, 2, 2);
+            }
+            out.write("\n]}\n");
+        }
+        return count;
+    }
+
+    // Pretty-printed like before, but streamed object by object instead of via one root.toString(2).
+    // For results straight from the pipeline prefer graph.pipeline.ResultJsonWriter, which skips the DOM.
     public static void writeGraphs(String outPath, List<JSONObject> graphs) throws IOException {
-        JSONObject root = new JSONObject();
-        root.put("graphs", graphs);
         Path p = Path.of(outPath);
         if (p.getParent() != null) Files.createDirectories(p.getParent());
-        Files.writeString(p, root.toString(2));
+        try (Writer out = Files.newBufferedWriter(p)) {
+            out.write("{\"graphs\": [");
+            for (int i = 0; i < graphs.size(); i++) {
+                if (i > 0) out.write(",");
+                out.write("\n  ");
+                graphs.get(i).write(out, 2, 2);
+            }
+            out.write("\n]}");
+        }
     }
 
     private static Path resolve(String p) {
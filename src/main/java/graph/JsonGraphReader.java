@@ -0,0 +1,276 @@
+package graph;
+
+import org.json.JSONException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// Pull parser for {"graphs":[...]} batches. Graphs are parsed one at a time as the iterator
+// advances, edges go straight into an EdgeList, and unknown keys (e.g. "results") are skipped
+// without building any tree, so memory is bounded by the largest single graph.
+public final class JsonGraphReader implements Iterator<GraphIO.GraphSpec>, Closeable {
+    private final Reader in;
+    private final char[] buf = new char[1 << 16];
+    private int pos, limit;
+    private int index;
+    private boolean done;
+    private GraphIO.GraphSpec next;
+
+    public JsonGraphReader(Reader in) throws IOException {
+        this.in = in;
+        openGraphsArray();
+    }
+
+    public static JsonGraphReader open(Path path) throws IOException {
+        return new JsonGraphReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try { next = readNext(); }
+            catch (IOException e) { throw new UncheckedIOException(e); }
+        }
+        return next != null;
+    }
+
+    @Override
+    public GraphIO.GraphSpec next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        GraphIO.GraphSpec g = next;
+        next = null;
+        return g;
+    }
+
+    @Override
+    public void close() throws IOException { in.close(); }
+
+    private void openGraphsArray() throws IOException {
+        expect('{');
+        if (peek() == '}') throw new JSONException("JSONObject[\"graphs\"] not found.");
+        while (true) {
+            String key = readString();
+            expect(':');
+            if (key.equals("graphs")) {
+                expect('[');
+                if (peek() == ']') { read(); done = true; }
+                return;
+            }
+            skipValue();
+            if (endOfObject()) throw new JSONException("JSONObject[\"graphs\"] not found.");
+        }
+    }
+
+    private GraphIO.GraphSpec readNext() throws IOException {
+        if (index > 0) {
+            int c = read();
+            if (c == ']') { done = true; return null; }
+            if (c != ',') throw syntax("Expected ',' or ']'", c);
+        }
+        return readGraph(index++);
+    }
+
+    private GraphIO.GraphSpec readGraph(int i) throws IOException {
+        String name = null, wm = null;
+        boolean directed = true;
+        int n = -1, source = 0;
+        EdgeList edges = null;
+        expect('{');
+        if (peek() == '}') read();
+        else do {
+            String key = readString();
+            expect(':');
+            switch (key) {
+                case "name" -> name = readNullableString();
+                case "directed" -> directed = readBoolean();
+                case "n" -> n = readInt();
+                case "source" -> source = readInt();
+                case "weight_model" -> wm = readNullableString();
+                case "edges" -> edges = readEdges();
+                default -> skipValue();
+            }
+        } while (!endOfObject());
+        if (n < 0) throw new JSONException("JSONObject[\"n\"] not found in graph " + i + ".");
+        if (edges == null) throw new JSONException("JSONObject[\"edges\"] not found in graph " + i + ".");
+        return new GraphIO.GraphSpec(name == null ? "graph_" + i : name, directed, n, edges, source,
+                wm == null ? "edge" : wm);
+    }
+
+    private EdgeList readEdges() throws IOException {
+        EdgeList edges = new EdgeList();
+        expect('[');
+        if (peek() == ']') { read(); return edges; }
+        do {
+            int u = Integer.MIN_VALUE, v = Integer.MIN_VALUE, w = 1;
+            expect('{');
+            if (peek() == '}') read();
+            else do {
+                String key = readString();
+                expect(':');
+                switch (key) {
+                    case "u" -> u = readInt();
+                    case "v" -> v = readInt();
+                    case "w" -> w = readInt();
+                    default -> skipValue();
+                }
+            } while (!endOfObject());
+            if (u == Integer.MIN_VALUE) throw new JSONException("JSONObject[\"u\"] not found.");
+            if (v == Integer.MIN_VALUE) throw new JSONException("JSONObject[\"v\"] not found.");
+            edges.add(u, v, w);
+        } while (!endOfArray());
+        return edges;
+    }
+
+    private boolean endOfObject() throws IOException {
+        int c = read();
+        if (c == '}') return true;
+        if (c != ',') throw syntax("Expected ',' or '}'", c);
+        return false;
+    }
+
+    private boolean endOfArray() throws IOException {
+        int c = read();
+        if (c == ']') return true;
+        if (c != ',') throw syntax("Expected ',' or ']'", c);
+        return false;
+    }
+
+    // Digits are accumulated straight from the buffer; only fractional/exponent forms allocate.
+    private int readInt() throws IOException {
+        skipWhitespace();
+        if (pos == limit && !fill()) throw syntax("Expected a number", -1);
+        boolean neg = buf[pos] == '-';
+        if (neg) pos++;
+        long val = 0;
+        int digits = 0;
+        while (pos < limit || fill()) {
+            char c = buf[pos];
+            if (c < '0' || c > '9') break;
+            val = val * 10 + (c - '0');
+            digits++;
+            pos++;
+        }
+        if (pos < limit && (buf[pos] == '.' || buf[pos] == 'e' || buf[pos] == 'E')) {
+            String tok = (neg ? "-" : "") + val + readLiteral();
+            try { return (int) Double.parseDouble(tok); }
+            catch (NumberFormatException e) { throw new JSONException("Value " + tok + " is not a number."); }
+        }
+        if (digits == 0) throw new JSONException("Value " + (neg ? "-" : "") + readLiteral() + " is not a number.");
+        if (digits > 10) throw new JSONException("Value out of int range.");
+        long r = neg ? -val : val;
+        if (r < Integer.MIN_VALUE || r > Integer.MAX_VALUE) throw new JSONException("Value " + r + " out of int range.");
+        return (int) r;
+    }
+
+    private boolean readBoolean() throws IOException {
+        String tok = readLiteral();
+        if (tok.equals("true")) return true;
+        if (tok.equals("false")) return false;
+        throw new JSONException("Value " + tok + " is not a boolean.");
+    }
+
+    private String readNullableString() throws IOException {
+        if (peek() == '"') return readString();
+        String tok = readLiteral();
+        if (tok.equals("null")) return null;
+        return tok;
+    }
+
+    private String readLiteral() throws IOException {
+        skipWhitespace();
+        StringBuilder sb = new StringBuilder(12);
+        while (true) {
+            if (pos == limit && !fill()) break;
+            char c = buf[pos];
+            if (c == ',' || c == '}' || c == ']' || c == ':' || Character.isWhitespace(c)) break;
+            sb.append(c);
+            pos++;
+        }
+        if (sb.length() == 0) throw syntax("Expected a value", pos < limit ? buf[pos] : -1);
+        return sb.toString();
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = rawRead();
+            if (c == '"') return sb.toString();
+            if (c == '\\') {
+                int e = rawRead();
+                switch (e) {
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        int cp = 0;
+                        for (int k = 0; k < 4; k++) cp = cp * 16 + Character.digit((char) rawRead(), 16);
+                        sb.append((char) cp);
+                    }
+                    default -> sb.append((char) e);
+                }
+            } else {
+                sb.append((char) c);
+            }
+        }
+    }
+
+    private void skipValue() throws IOException {
+        int c = peek();
+        if (c == '"') { readString(); return; }
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            while (true) {
+                int x = rawRead();
+                if (x == '"') { pos--; readString(); continue; }
+                if (x == '{' || x == '[') depth++;
+                else if (x == '}' || x == ']') { if (--depth == 0) return; }
+            }
+        }
+        readLiteral();
+    }
+
+    private void expect(char want) throws IOException {
+        int c = read();
+        if (c != want) throw syntax("Expected '" + want + "'", c);
+    }
+
+    private int peek() throws IOException {
+        skipWhitespace();
+        if (pos == limit && !fill()) return -1;
+        return buf[pos];
+    }
+
+    private int read() throws IOException {
+        skipWhitespace();
+        return rawRead();
+    }
+
+    private int rawRead() throws IOException {
+        if (pos == limit && !fill()) throw new JSONException("Unexpected end of input");
+        return buf[pos++];
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) return;
+            if (!Character.isWhitespace(buf[pos])) return;
+            pos++;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int r = in.read(buf, 0, buf.length);
+        if (r <= 0) { pos = limit = 0; return false; }
+        pos = 0; limit = r;
+        return true;
+    }
+
+    private static JSONException syntax(String msg, int c) {
+        return new JSONException(msg + (c < 0 ? " but reached end of input" : " but found '" + (char) c + "'"));
+    }
+}
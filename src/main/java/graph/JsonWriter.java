@@ -0,0 +1,114 @@
+package graph;
+
+import org.json.JSONObject;
+
+import java.io.*;
+import java.util.Arrays;
+
+// Minimal streaming JSON emitter: values go straight to the Writer, nothing is buffered beyond
+// it. Compact by default; with pretty=true the layout matches org.json's toString(2).
+public final class JsonWriter implements Closeable, Flushable {
+    private final Writer out;
+    private final int indent;
+    private boolean[] first = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter(Writer out, boolean pretty) {
+        this.out = out;
+        this.indent = pretty ? 2 : 0;
+    }
+
+    public JsonWriter beginObject() throws IOException { return open('{'); }
+    public JsonWriter endObject() throws IOException { return close('}'); }
+    public JsonWriter beginArray() throws IOException { return open('['); }
+    public JsonWriter endArray() throws IOException { return close(']'); }
+
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        string(name);
+        out.write(indent > 0 ? ": " : ":");
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(int v) throws IOException { separate(); out.write(Integer.toString(v)); return this; }
+    public JsonWriter value(long v) throws IOException { separate(); out.write(Long.toString(v)); return this; }
+    public JsonWriter value(boolean v) throws IOException { separate(); out.write(v ? "true" : "false"); return this; }
+    public JsonWriter value(double v) throws IOException { separate(); out.write(JSONObject.numberToString(v)); return this; }
+    public JsonWriter nullValue() throws IOException { separate(); out.write("null"); return this; }
+
+    public JsonWriter value(String v) throws IOException {
+        if (v == null) return nullValue();
+        separate();
+        string(v);
+        return this;
+    }
+
+    public JsonWriter ints(int[] a) throws IOException {
+        beginArray();
+        for (int x : a) value(x);
+        return endArray();
+    }
+
+    // Writes a raw line break at top level; handy between records of a JSON batch.
+    public void newline() throws IOException { out.write('\n'); }
+
+    @Override
+    public void flush() throws IOException { out.flush(); }
+
+    @Override
+    public void close() throws IOException { out.close(); }
+
+    private JsonWriter open(char c) throws IOException {
+        separate();
+        out.write(c);
+        if (++depth == first.length) first = Arrays.copyOf(first, depth * 2);
+        first[depth] = true;
+        return this;
+    }
+
+    private JsonWriter close(char c) throws IOException {
+        if (depth == 0) throw new IllegalStateException("nothing to close");
+        boolean empty = first[depth--];
+        if (!empty) indentLine();
+        out.write(c);
+        return this;
+    }
+
+    private void separate() throws IOException {
+        if (afterName) { afterName = false; return; }
+        if (depth == 0) return;
+        if (!first[depth]) out.write(',');
+        first[depth] = false;
+        indentLine();
+    }
+
+    private void indentLine() throws IOException {
+        if (indent == 0) return;
+        out.write('\n');
+        for (int i = depth * indent; i > 0; i--) out.write(' ');
+    }
+
+    private void string(String s) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            String esc = switch (c) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                default -> c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+            };
+            if (esc == null) continue;
+            out.write(s, start, i - start);
+            out.write(esc);
+            start = i + 1;
+        }
+        out.write(s, start, s.length() - start);
+        out.write('"');
+    }
+}
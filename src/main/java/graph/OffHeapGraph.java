@@ -0,0 +1,154 @@
+package graph;
+
+import java.io.IOException;
+import java.lang.foreign.*;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+// CSR graph whose arrays live outside the Java heap, in segments owned by the caller's Arena:
+// anonymous memory (Arena.ofShared() / ofConfined()) or a file mapped with FileChannel.map. Edge
+// positions are longs, so m may exceed 2^31; vertex ids stay ints. The GC never sees the edges, and
+// closing the arena frees (or unmaps) them at once. BinaryGraphReader.nextView also wraps the arrays
+// of a LAYOUT_CSR record in place; those offsets are int[n + 1] rather than long[n + 1].
+// File layout, little-endian: int magic "OHGR", int version, int n, int 0, long m,
+//   long[n + 1] offsets, int[m] targets, int[m] weights
+public final class OffHeapGraph {
+    static final int MAGIC = 0x5247484F;
+    static final int VERSION = 1;
+    static final long HEADER_BYTES = 24;
+    public static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    public static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    public final int n;
+    public final long m;
+    public final MemorySegment offsets, targets, weights;
+    private final boolean intOffsets;
+
+    private OffHeapGraph(int n, long m, MemorySegment offsets, MemorySegment targets, MemorySegment weights, boolean intOffsets) {
+        this.n = n; this.m = m;
+        this.offsets = offsets; this.targets = targets; this.weights = weights;
+        this.intOffsets = intOffsets;
+    }
+
+    // A view over existing int[n + 1] offsets / int[m] targets / int[m] weights; nothing is copied.
+    static OffHeapGraph viewIntOffsets(int n, int m, MemorySegment offsets, MemorySegment targets, MemorySegment weights) {
+        return new OffHeapGraph(n, m, offsets, targets, weights, true);
+    }
+
+    public long begin(int v) { return intOffsets ? offsets.getAtIndex(INT, v) : offsets.getAtIndex(LONG, v); }
+    public long end(int v) { return intOffsets ? offsets.getAtIndex(INT, v + 1L) : offsets.getAtIndex(LONG, v + 1L); }
+    public int target(long i) { return targets.getAtIndex(INT, i); }
+    public int weight(long i) { return weights.getAtIndex(INT, i); }
+
+    public static OffHeapGraph copyOf(CsrGraph g, Arena arena) {
+        MemorySegment all = arena.allocate(arrayBytes(g.n, g.m), 8);
+        OffHeapGraph o = slice(all, g.n, g.m);
+        for (int v = 0; v <= g.n; v++) o.offsets.setAtIndex(LONG, v, g.offsets[v]);
+        for (int i = 0; i < g.m; i++) {
+            o.targets.setAtIndex(INT, i, g.targets[i]);
+            o.weights.setAtIndex(INT, i, g.weights[i]);
+        }
+        return o;
+    }
+
+    // Two passes over a replayable source (degrees, then placement); edges keep source order per vertex.
+    public static OffHeapGraph build(int n, EdgeSource edges, Arena arena) throws IOException {
+        long m = countEdges(n, edges);
+        MemorySegment all = arena.allocate(arrayBytes(n, m), 8);
+        return place(slice(all, n, m), edges);
+    }
+
+    // Same, but the arrays are written straight into a file mapping that map(file, arena) can reopen.
+    public static OffHeapGraph build(int n, EdgeSource edges, Path file, Arena arena) throws IOException {
+        long m = countEdges(n, edges);
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MemorySegment seg = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + arrayBytes(n, m), arena);
+            seg.set(INT, 0, MAGIC);
+            seg.set(INT, 4, VERSION);
+            seg.set(INT, 8, n);
+            seg.set(INT, 12, 0);
+            seg.set(LONG, 16, m);
+            OffHeapGraph g = place(slice(seg.asSlice(HEADER_BYTES), n, m), edges);
+            seg.force();
+            return g;
+        }
+    }
+
+    // Maps a file written by build(n, edges, file, arena) read-only; nothing is copied.
+    public static OffHeapGraph map(Path file, Arena arena) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES) throw new IOException(file + " is not an off-heap graph file");
+            MemorySegment seg = ch.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+            if (seg.get(INT, 0) != MAGIC) throw new IOException(file + " is not an off-heap graph file");
+            int version = seg.get(INT, 4);
+            if (version != VERSION) throw new IOException("unsupported off-heap graph version " + version);
+            int n = seg.get(INT, 8);
+            long m = seg.get(LONG, 16);
+            if (n < 0 || m < 0 || size != HEADER_BYTES + arrayBytes(n, m)) throw new IOException(file + " is truncated");
+            return slice(seg.asSlice(HEADER_BYTES), n, m);
+        }
+    }
+
+    // Copies back to the heap; only for graphs that fit in int-indexed arrays.
+    public CsrGraph toCsr() {
+        if (m > Integer.MAX_VALUE - 8) throw new IllegalStateException("too many edges for CsrGraph: " + m);
+        int[] offs = new int[n + 1];
+        for (int v = 0; v <= n; v++) offs[v] = (int) begin(v);
+        return new CsrGraph(n, offs, targets.toArray(INT), weights.toArray(INT));
+    }
+
+    // Working arrays for the off-heap algorithm variants: in arena if given, else an int[]/long[]
+    // on the heap wrapped as a segment, so one code path serves both.
+    public static MemorySegment ints(Arena arena, long count) {
+        return arena == null ? MemorySegment.ofArray(new int[Math.toIntExact(count)]) : arena.allocate(4 * count, 4);
+    }
+
+    public static MemorySegment longs(Arena arena, long count) {
+        return arena == null ? MemorySegment.ofArray(new long[Math.toIntExact(count)]) : arena.allocate(8 * count, 8);
+    }
+
+    public static void fill(MemorySegment ints, int value) {
+        for (long i = 0, k = ints.byteSize() / 4; i < k; i++) ints.setAtIndex(INT, i, value);
+    }
+
+    private static long arrayBytes(int n, long m) {
+        return 8L * (n + 1) + 8 * m;
+    }
+
+    private static OffHeapGraph slice(MemorySegment all, int n, long m) {
+        long o = 8L * (n + 1);
+        return new OffHeapGraph(n, m, all.asSlice(0, o), all.asSlice(o, 4 * m), all.asSlice(o + 4 * m, 4 * m), false);
+    }
+
+    private static long countEdges(int n, EdgeSource edges) throws IOException {
+        long[] m = {0};
+        edges.forEachEdge((u, v, w) -> {
+            if (u < 0 || u >= n || v < 0 || v >= n) throw new IllegalArgumentException("edge " + u + "->" + v + " out of range [0, " + n + ")");
+            m[0]++;
+        });
+        return m[0];
+    }
+
+    private static OffHeapGraph place(OffHeapGraph g, EdgeSource edges) throws IOException {
+        MemorySegment offs = g.offsets;
+        offs.fill((byte) 0);
+        edges.forEachEdge((u, v, w) -> offs.setAtIndex(LONG, u + 1L, offs.getAtIndex(LONG, u + 1L) + 1));
+        for (int v = 0; v < g.n; v++) offs.setAtIndex(LONG, v + 1L, offs.getAtIndex(LONG, v + 1L) + offs.getAtIndex(LONG, v));
+        if (offs.getAtIndex(LONG, g.n) != g.m) throw new IOException("edge source is not replayable: edge count changed");
+        try (Arena scratch = Arena.ofConfined()) {
+            MemorySegment pos = scratch.allocate(8L * g.n, 8);
+            MemorySegment.copy(offs, 0, pos, 0, 8L * g.n);
+            edges.forEachEdge((u, v, w) -> {
+                long p = pos.getAtIndex(LONG, u);
+                pos.setAtIndex(LONG, u, p + 1);
+                g.targets.setAtIndex(INT, p, v);
+                g.weights.setAtIndex(INT, p, w);
+            });
+        }
+        return g;
+    }
+}
@@ -0,0 +1,48 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fork/join helpers shared by the parallel algorithms. forRange splits [from, to) in halves down to
+// grain and runs in the ForkJoinPool of the calling worker (the common pool otherwise), so callers
+// that want a specific pool enter it once with pool.invoke(...).
+public final class Parallel {
+    private Parallel() {}
+
+    public interface RangeBody { void apply(int lo, int hi); }
+
+    public static void forRange(int from, int to, int grain, RangeBody body) {
+        if (to - from <= grain) { if (to > from) body.apply(from, to); return; }
+        new RangeTask(from, to, grain, body).invoke();
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        final int lo, hi, grain; final transient RangeBody body;  // tasks are never serialized
+        RangeTask(int lo, int hi, int grain, RangeBody body) { this.lo = lo; this.hi = hi; this.grain = grain; this.body = body; }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= grain) { body.apply(lo, hi); return; }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RangeTask(lo, mid, grain, body), new RangeTask(mid, hi, grain, body));
+        }
+    }
+
+    // Per-leaf output buffer; flushTo reserves a contiguous slice of dst with one getAndAdd.
+    public static final class IntBuffer {
+        int[] a = new int[64]; int size;
+
+        public void add(int x) {
+            if (size == a.length) a = Arrays.copyOf(a, size * 2);
+            a[size++] = x;
+        }
+
+        public void flushTo(int[] dst, AtomicInteger tail) {
+            if (size == 0) return;
+            int at = tail.getAndAdd(size);
+            System.arraycopy(a, 0, dst, at, size);
+        }
+    }
+}
@@ -1,51 +1,206 @@
 package graph.dagsp;
 
+import graph.CsrGraph;
+import graph.EdgeList;
+import graph.OffHeapGraph;
+import graph.metrics.Counters;
+
+import java.lang.foreign.*;
 import java.util.*;
 
+import static graph.OffHeapGraph.INT;
+
 public class DAGShortestPaths {
+    static final int INF = 1_000_000_000;
+    private static final LaneKernel LANES = pickLanes();
+
     private int n;
-    private List<List<int[]>> adj;
+    private EdgeList pending;
+    private CsrGraph g;
 
     public DAGShortestPaths(int n) {
         this.n = n;
-        adj = new ArrayList<>();
-        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
+        pending = new EdgeList();
+    }
+
+    public DAGShortestPaths(CsrGraph g) {
+        this.n = g.n;
+        this.g = g;
     }
 
     public void addEdge(int u, int v, int w) {
-        adj.get(u).add(new int[]{v, w});
+        if (pending == null) throw new IllegalStateException("graph was supplied as an immutable CsrGraph");
+        pending.add(u, v, w);
+        g = null;
     }
 
     public int[] shortestPaths(int src, List<Integer> topo) {
-        int INF = 1_000_000_000;
+        return shortestPaths(src, toArray(topo));
+    }
+
+    public int[] longestPaths(int src, List<Integer> topo) {
+        return longestPaths(src, toArray(topo));
+    }
+
+    public int[] shortestPaths(int src, int[] topo) {
+        return shortestPaths(src, topo, null, null);
+    }
+
+    public int[] longestPaths(int src, int[] topo) {
+        return longestPaths(src, topo, null, null);
+    }
+
+    // parent (length n, may be null) receives the predecessor that last improved each vertex, -1 if
+    // none; counters (may be null) receives relaxations (edges out of reached vertices) and updates.
+    public int[] shortestPaths(int src, int[] topo, int[] parent, Counters counters) {
+        CsrGraph g = graph();
+        int[] offsets = g.offsets, targets = g.targets, weights = g.weights;
         int[] dist = new int[n];
         Arrays.fill(dist, INF);
         dist[src] = 0;
+        if (parent != null) Arrays.fill(parent, -1);
+        long relax = 0, upd = 0;
 
         for (int u : topo) {
-            if (dist[u] != INF) {
-                for (int[] e : adj.get(u)) {
-                    int v = e[0], w = e[1];
-                    dist[v] = Math.min(dist[v], dist[u] + w);
+            int du = dist[u];
+            if (du != INF) {
+                relax += offsets[u + 1] - offsets[u];
+                for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                    int v = targets[i], nd = du + weights[i];
+                    if (nd < dist[v]) {
+                        dist[v] = nd;
+                        upd++;
+                        if (parent != null) parent[v] = u;
+                    }
                 }
             }
         }
+        if (counters != null) { counters.relaxations += relax; counters.updates += upd; }
         return dist;
     }
 
-    public int[] longestPaths(int src, List<Integer> topo) {
+    public int[] longestPaths(int src, int[] topo, int[] parent, Counters counters) {
+        CsrGraph g = graph();
+        int[] offsets = g.offsets, targets = g.targets, weights = g.weights;
         int[] dist = new int[n];
         Arrays.fill(dist, Integer.MIN_VALUE);
         dist[src] = 0;
+        if (parent != null) Arrays.fill(parent, -1);
+        long relax = 0, upd = 0;
 
         for (int u : topo) {
-            if (dist[u] != Integer.MIN_VALUE) {
-                for (int[] e : adj.get(u)) {
-                    int v = e[0], w = e[1];
-                    dist[v] = Math.max(dist[v], dist[u] + w);
+            int du = dist[u];
+            if (du != Integer.MIN_VALUE) {
+                relax += offsets[u + 1] - offsets[u];
+                for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                    int v = targets[i], nd = du + weights[i];
+                    if (nd > dist[v]) {
+                        dist[v] = nd;
+                        upd++;
+                        if (parent != null) parent[v] = u;
+                    }
                 }
             }
         }
+        if (counters != null) { counters.relaxations += relax; counters.updates += upd; }
         return dist;
     }
+
+    // Single-source passes over an OffHeapGraph. topo holds count vertex ids (e.g. from
+    // TopologicalSort.kahnSort(g, order, work)); dist and parent (parent may be null) are n-int
+    // segments, heap or off-heap, filled exactly as the int[] versions fill theirs.
+    public static void shortestPaths(OffHeapGraph g, int src, MemorySegment topo, int count, MemorySegment dist, MemorySegment parent) {
+        relax(g, src, topo, count, dist, parent, false);
+    }
+
+    public static void longestPaths(OffHeapGraph g, int src, MemorySegment topo, int count, MemorySegment dist, MemorySegment parent) {
+        relax(g, src, topo, count, dist, parent, true);
+    }
+
+    // Multi-source mode: one pass over topo for all K sources. Result row k is what
+    // shortestPaths(sources[k], topo) would return.
+    public int[][] shortestPaths(int[] sources, int[] topo) {
+        return multiSource(sources, topo, false);
+    }
+
+    public int[][] longestPaths(int[] sources, int[] topo) {
+        return multiSource(sources, topo, true);
+    }
+
+    // Level-parallel plan over this graph for a fixed topo order; see ParallelDAGPaths.
+    public ParallelDAGPaths parallel(int[] topo) {
+        return new ParallelDAGPaths(graph(), topo);
+    }
+
+    // Reusable single-pair queries that only touch what src reaches before target; see PathQuery.
+    public PathQuery queries(int[] topo) {
+        return new PathQuery(graph(), topo);
+    }
+
+    // "vector(<lanes>)" when jdk.incubator.vector is loaded (--add-modules jdk.incubator.vector), else "scalar".
+    public static String laneKernel() {
+        return LANES instanceof ScalarLaneKernel ? "scalar" : "vector(" + LANES.laneMultiple() + ")";
+    }
+
+    private int[][] multiSource(int[] sources, int[] topo, boolean longest) {
+        CsrGraph g = graph();
+        int K = sources.length, L = LANES.laneMultiple();
+        int stride = (K + L - 1) / L * L;
+        if ((long) n * stride > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("n * sources too large for one pass; split the sources into batches");
+        int sentinel = longest ? Integer.MIN_VALUE : INF;
+        int[] dist = new int[n * stride];
+        Arrays.fill(dist, sentinel);
+        for (int k = 0; k < K; k++) dist[sources[k] * stride + k] = 0;
+
+        LANES.relax(g, topo, dist, stride, longest);
+
+        int[][] out = new int[K][n];
+        for (int v = 0; v < n; v++) {
+            int b = v * stride;
+            for (int k = 0; k < K; k++) out[k][v] = dist[b + k];
+        }
+        return out;
+    }
+
+    private static void relax(OffHeapGraph g, int src, MemorySegment topo, int count, MemorySegment dist,
+                              MemorySegment parent, boolean longest) {
+        int sentinel = longest ? Integer.MIN_VALUE : INF;
+        OffHeapGraph.fill(dist, sentinel);
+        dist.setAtIndex(INT, src, 0);
+        if (parent != null) OffHeapGraph.fill(parent, -1);
+
+        for (int k = 0; k < count; k++) {
+            int u = topo.getAtIndex(INT, k), du = dist.getAtIndex(INT, u);
+            if (du == sentinel) continue;
+            for (long i = g.begin(u), end = g.end(u); i < end; i++) {
+                int v = g.target(i), nd = du + g.weight(i), dv = dist.getAtIndex(INT, v);
+                if (longest ? nd > dv : nd < dv) {
+                    dist.setAtIndex(INT, v, nd);
+                    if (parent != null) parent.setAtIndex(INT, v, u);
+                }
+            }
+        }
+    }
+
+    private static LaneKernel pickLanes() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && !Boolean.getBoolean("graph.dagsp.scalar")) {
+            try {
+                return (LaneKernel) Class.forName("graph.dagsp.VectorLaneKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError ignored) {
+            }
+        }
+        return new ScalarLaneKernel();
+    }
+
+    private CsrGraph graph() {
+        if (g == null) g = pending.toCsr(n);
+        return g;
+    }
+
+    private static int[] toArray(List<Integer> topo) {
+        int[] a = new int[topo.size()];
+        for (int i = 0; i < a.length; i++) a[i] = topo.get(i);
+        return a;
+    }
 }
@@ -0,0 +1,12 @@
+package graph.dagsp;
+
+import graph.CsrGraph;
+
+// Relaxes K source lanes at once over a vertex-major distance matrix: lane k of vertex v lives at
+// dist[v * stride + k], so one edge (u, v) touches two contiguous rows. stride is K rounded up to
+// laneMultiple(); padding lanes hold the sentinel and never change.
+interface LaneKernel {
+    int laneMultiple();
+
+    void relax(CsrGraph g, int[] topo, int[] dist, int stride, boolean longest);
+}
@@ -0,0 +1,121 @@
+package graph.dagsp;
+
+import graph.CsrGraph;
+import graph.Parallel;
+import graph.metrics.Counters;
+import graph.topo.ParallelTopologicalSort;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import static graph.dagsp.DAGShortestPaths.INF;
+
+// Wavefront (pull) version of DAGShortestPaths for one graph and one topo order. The plan is built
+// once: topological levels from ParallelTopologicalSort, and every vertex's in-edges listed in the
+// order the sequential pass relaxes them (by the source's position in topo, then by CSR index).
+// A query then walks the levels; each vertex of a level folds its in-edges on its own, since all of
+// its predecessors sit in earlier levels, so there are no shared writes. Taking only strict
+// improvements in that order reproduces the sequential dist, parent and counters exactly: the parent
+// is the first predecessor in topo order that reaches the best value.
+// topo must be a topological order of the vertices it lists; edges out of unlisted vertices are
+// never relaxed, as in the sequential pass.
+public class ParallelDAGPaths {
+    private static final int GRAIN = 512;
+
+    private final int n;
+    private final ForkJoinPool pool;
+    private final int[] levelOrder, levelStart;
+    private final int[] inOffsets, inSources, inWeights;
+
+    public ParallelDAGPaths(CsrGraph g, int[] topo) {
+        this(g, topo, ForkJoinPool.commonPool());
+    }
+
+    public ParallelDAGPaths(CsrGraph g, int[] topo, ForkJoinPool pool) {
+        this.n = g.n;
+        this.pool = pool;
+        ParallelTopologicalSort.Result levels = new ParallelTopologicalSort(g, pool).run();
+        if (!levels.isAcyclic()) throw new IllegalArgumentException("graph has a cycle");
+        levelOrder = levels.order;
+        levelStart = levels.levelStart;
+
+        int[] pos = new int[n];
+        Arrays.fill(pos, -1);
+        for (int p = 0; p < topo.length; p++) pos[topo[p]] = p;
+        inOffsets = new int[n + 1];
+        int[] offsets = g.offsets, targets = g.targets;
+        for (int u = 0; u < n; u++) {
+            if (pos[u] < 0) continue;
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int v = targets[i];
+                if (pos[v] >= 0 && pos[v] < pos[u]) throw new IllegalArgumentException("topo is not a topological order: " + u + "->" + v);
+                inOffsets[v + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) inOffsets[v + 1] += inOffsets[v];
+
+        // key = topo position << 32 | CSR index: sorting a vertex's slice gives the sequential relax order
+        long[] keys = new long[inOffsets[n]];
+        int[] fill = Arrays.copyOf(inOffsets, n);
+        for (int u = 0; u < n; u++) {
+            if (pos[u] < 0) continue;
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) keys[fill[targets[i]]++] = (long) pos[u] << 32 | i;
+        }
+        inSources = new int[keys.length];
+        inWeights = new int[keys.length];
+        pool.invoke(ForkJoinTask.adapt(() -> Parallel.forRange(0, n, GRAIN, (lo, hi) -> {
+            for (int v = lo; v < hi; v++) {
+                int a = inOffsets[v], b = inOffsets[v + 1];
+                Arrays.sort(keys, a, b);
+                for (int k = a; k < b; k++) {
+                    inSources[k] = topo[(int) (keys[k] >>> 32)];
+                    inWeights[k] = g.weights[(int) keys[k]];
+                }
+            }
+        })));
+    }
+
+    public int levels() { return levelStart.length - 1; }
+
+    public int[] shortestPaths(int src, int[] parent, Counters counters) {
+        return run(src, parent, counters, false);
+    }
+
+    public int[] longestPaths(int src, int[] parent, Counters counters) {
+        return run(src, parent, counters, true);
+    }
+
+    private int[] run(int src, int[] parent, Counters counters, boolean longest) {
+        int sentinel = longest ? Integer.MIN_VALUE : INF;
+        int[] dist = new int[n];
+        Arrays.fill(dist, sentinel);
+        dist[src] = 0;
+        if (parent != null) Arrays.fill(parent, -1);
+        LongAdder relax = new LongAdder(), upd = new LongAdder();
+
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            for (int L = 0; L < levels(); L++) {
+                Parallel.forRange(levelStart[L], levelStart[L + 1], GRAIN, (lo, hi) -> {
+                    long r = 0, u = 0;
+                    for (int k = lo; k < hi; k++) {
+                        int v = levelOrder[k], best = dist[v], p = -1;
+                        for (int e = inOffsets[v], end = inOffsets[v + 1]; e < end; e++) {
+                            int du = dist[inSources[e]];
+                            if (du == sentinel) continue;
+                            r++;
+                            int nd = du + inWeights[e];
+                            if (longest ? nd > best : nd < best) { best = nd; p = inSources[e]; u++; }
+                        }
+                        dist[v] = best;
+                        if (parent != null && p >= 0) parent[v] = p;
+                    }
+                    relax.add(r);
+                    upd.add(u);
+                });
+            }
+        }));
+        if (counters != null) { counters.relaxations += relax.sum(); counters.updates += upd.sum(); }
+        return dist;
+    }
+}
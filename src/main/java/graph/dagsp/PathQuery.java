@@ -0,0 +1,119 @@
+package graph.dagsp;
+
+import graph.CsrGraph;
+import graph.metrics.Counters;
+
+import java.util.*;
+
+import static graph.dagsp.DAGShortestPaths.INF;
+
+// Single-pair queries over one graph and topo order. Only vertices reached from src are visited, in
+// topo order, via a min-heap of topo positions; the walk starts at src and stops once the next
+// position is past target's, and vertices ordered after target are never queued since they cannot
+// reach it. That visits reached vertices in the same order as the full pass, so the distance and
+// path equal what shortestPaths/longestPaths(src, topo, parent, ...) would give for target.
+// Scratch arrays are reused across queries (epoch-stamped, no O(n) reset): one query at a time.
+public class PathQuery {
+    public record Path(int distance, int[] vertices) {
+        public boolean reachable() { return vertices.length > 0; }
+    }
+
+    private final CsrGraph g;
+    private final int[] order, pos, dist, parent, stamp;
+    private int[] heap = new int[64];
+    private int epoch;
+
+    public PathQuery(CsrGraph g, int[] topo) {
+        this.g = g;
+        int n = g.n;
+        pos = new int[n];
+        Arrays.fill(pos, -1);
+        for (int p = 0; p < topo.length; p++) pos[topo[p]] = p;
+        dist = new int[n]; parent = new int[n]; stamp = new int[n];
+        order = topo.clone();
+    }
+
+    public Path shortest(int src, int target) {
+        return run(src, target, false, null);
+    }
+
+    public Path longest(int src, int target) {
+        return run(src, target, true, null);
+    }
+
+    // counters (may be null) receives relaxations, updates and queuePops (vertices visited).
+    public Path shortest(int src, int target, Counters counters) {
+        return run(src, target, false, counters);
+    }
+
+    public Path longest(int src, int target, Counters counters) {
+        return run(src, target, true, counters);
+    }
+
+    private Path run(int src, int target, boolean longest, Counters counters) {
+        int sentinel = longest ? Integer.MIN_VALUE : INF;
+        if (src == target) return new Path(0, new int[]{src});
+        int tp = pos[target];
+        if (tp < 0) throw new IllegalArgumentException("target " + target + " is not in the topo order");
+        int e = ++epoch;
+        if (e == 0) { Arrays.fill(stamp, 0); e = epoch = 1; }
+        int[] offsets = g.offsets, targets = g.targets, weights = g.weights;
+        long relax = 0, upd = 0, pops = 0;
+        int size = 0;
+        if (pos[src] >= 0 && pos[src] < tp) {
+            stamp[src] = e; dist[src] = 0; parent[src] = -1;
+            heap[size++] = pos[src];
+        }
+        while (size > 0) {
+            int p = heap[0];
+            heap[0] = heap[--size];
+            siftDown(size);
+            if (p >= tp) break;
+            pops++;
+            int u = order[p], du = dist[u];
+            relax += offsets[u + 1] - offsets[u];
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int v = targets[i], nd = du + weights[i];
+                if (stamp[v] != e) {
+                    if (pos[v] < 0 || pos[v] > tp) continue;  // cannot lie on a path to target
+                    stamp[v] = e; dist[v] = sentinel; parent[v] = -1;
+                    push(pos[v], size++);
+                }
+                if (longest ? nd > dist[v] : nd < dist[v]) { dist[v] = nd; parent[v] = u; upd++; }
+            }
+        }
+        if (counters != null) { counters.relaxations += relax; counters.updates += upd; counters.queuePops += pops; }
+        if (stamp[target] != e || dist[target] == sentinel) return new Path(sentinel, new int[0]);
+        int len = 0;
+        for (int v = target; v != -1; v = parent[v]) len++;
+        int[] path = new int[len];
+        for (int v = target, i = len - 1; v != -1; v = parent[v]) path[i--] = v;
+        return new Path(dist[target], path);
+    }
+
+    private void push(int p, int size) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        int i = size;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (heap[up] <= p) break;
+            heap[i] = heap[up];
+            i = up;
+        }
+        heap[i] = p;
+    }
+
+    private void siftDown(int size) {
+        if (size == 0) return;
+        int x = heap[0], i = 0;
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= size) break;
+            if (c + 1 < size && heap[c + 1] < heap[c]) c++;
+            if (heap[c] >= x) break;
+            heap[i] = heap[c];
+            i = c;
+        }
+        heap[i] = x;
+    }
+}
@@ -0,0 +1,31 @@
+package graph.dagsp;
+
+import graph.CsrGraph;
+
+final class ScalarLaneKernel implements LaneKernel {
+    @Override
+    public int laneMultiple() { return 1; }
+
+    @Override
+    public void relax(CsrGraph g, int[] topo, int[] dist, int stride, boolean longest) {
+        int[] offsets = g.offsets, targets = g.targets, weights = g.weights;
+        int sentinel = longest ? Integer.MIN_VALUE : DAGShortestPaths.INF;
+        for (int u : topo) {
+            int bu = u * stride;
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int bv = targets[i] * stride, w = weights[i];
+                if (longest) {
+                    for (int k = 0; k < stride; k++) {
+                        int du = dist[bu + k];
+                        if (du != sentinel && du + w > dist[bv + k]) dist[bv + k] = du + w;
+                    }
+                } else {
+                    for (int k = 0; k < stride; k++) {
+                        int du = dist[bu + k];
+                        if (du != sentinel && du + w < dist[bv + k]) dist[bv + k] = du + w;
+                    }
+                }
+            }
+        }
+    }
+}
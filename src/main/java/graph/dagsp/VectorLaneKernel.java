@@ -0,0 +1,36 @@
+package graph.dagsp;
+
+import graph.CsrGraph;
+import jdk.incubator.vector.*;
+
+// Only loaded reflectively when jdk.incubator.vector is in the boot layer (--add-modules).
+final class VectorLaneKernel implements LaneKernel {
+    private static final VectorSpecies<Integer> S = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int laneMultiple() { return S.length(); }
+
+    @Override
+    public void relax(CsrGraph g, int[] topo, int[] dist, int stride, boolean longest) {
+        int[] offsets = g.offsets, targets = g.targets, weights = g.weights;
+        int sentinel = longest ? Integer.MIN_VALUE : DAGShortestPaths.INF;
+        int L = S.length();
+        for (int u : topo) {
+            int bu = u * stride;
+            boolean any = false;
+            for (int k = 0; k < stride && !any; k += L)
+                any = IntVector.fromArray(S, dist, bu + k).compare(VectorOperators.NE, sentinel).anyTrue();
+            if (!any) continue;
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int bv = targets[i] * stride, w = weights[i];
+                for (int k = 0; k < stride; k += L) {
+                    IntVector du = IntVector.fromArray(S, dist, bu + k);
+                    IntVector dv = IntVector.fromArray(S, dist, bv + k);
+                    IntVector cand = du.add(w);
+                    IntVector best = longest ? dv.max(cand) : dv.min(cand);
+                    dv.blend(best, du.compare(VectorOperators.NE, sentinel)).intoArray(dist, bv + k);
+                }
+            }
+        }
+    }
+}
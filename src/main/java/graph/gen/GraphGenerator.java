@@ -0,0 +1,173 @@
+package graph.gen;
+
+import graph.BinaryGraphWriter;
+import graph.EdgeSink;
+import graph.EdgeSource;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// Seeded synthetic graphs for load tests and benchmarks. Edges are produced on the fly from a
+// SplittableRandom, so the same (shape, n, m, seed, maxWeight) always yields the same edge sequence
+// and nothing proportional to m is ever held in memory.
+//   RANDOM          uniform u != v pairs; sparse or dense is just the choice of m
+//   DAG             uniform pairs oriented from the lower to the higher id
+//   CHAIN           0 -> 1 -> ... -> n-1 (m is n - 1)
+//   GRID            near-square grid with right and down edges (m is derived from n)
+//   POWER_LAW       uniform sources, Zipf-like skewed targets (a few hubs with huge in-degree)
+//   GIANT_SCC_TAIL  a Hamiltonian cycle over the first n/2 vertices with random chords, plus an acyclic
+//                   tail of trivial SCCs hanging off it
+public final class GraphGenerator implements EdgeSource {
+    public enum Shape { RANDOM, DAG, CHAIN, GRID, POWER_LAW, GIANT_SCC_TAIL }
+
+    public final Shape shape;
+    public final int n, m, maxWeight;
+    public final long seed;
+
+    public GraphGenerator(Shape shape, int n, int m, long seed, int maxWeight) {
+        if (n < 2) throw new IllegalArgumentException("n must be >= 2");
+        if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be >= 1");
+        this.shape = shape; this.n = n; this.seed = seed; this.maxWeight = maxWeight;
+        this.m = switch (shape) {
+            case CHAIN -> n - 1;
+            case GRID -> gridEdges(n);
+            case GIANT_SCC_TAIL -> Math.max(m, n / 2);
+            default -> m;
+        };
+        if (this.m < 0) throw new IllegalArgumentException("m must be >= 0");
+    }
+
+    public String defaultName() {
+        return shape.name().toLowerCase(Locale.ROOT) + "_" + n + "_" + m + "_s" + seed;
+    }
+
+    @Override
+    public void forEachEdge(EdgeSink sink) throws IOException {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        switch (shape) {
+            case RANDOM -> {
+                for (int i = 0; i < m; i++) {
+                    int u = rnd.nextInt(n);
+                    sink.edge(u, other(rnd, u), weight(rnd));
+                }
+            }
+            case DAG -> {
+                for (int i = 0; i < m; i++) {
+                    int a = rnd.nextInt(n), b = other(rnd, a);
+                    sink.edge(Math.min(a, b), Math.max(a, b), weight(rnd));
+                }
+            }
+            case CHAIN -> {
+                for (int v = 0; v + 1 < n; v++) sink.edge(v, v + 1, weight(rnd));
+            }
+            case GRID -> {
+                int cols = gridCols(n);
+                for (int v = 0; v < n; v++) {
+                    if ((v + 1) % cols != 0 && v + 1 < n) sink.edge(v, v + 1, weight(rnd));
+                    if (v + cols < n) sink.edge(v, v + cols, weight(rnd));
+                }
+            }
+            case POWER_LAW -> {
+                for (int i = 0; i < m; i++) {
+                    int u = rnd.nextInt(n);
+                    double x = rnd.nextDouble();
+                    int v = (int) (n * x * x * x);
+                    if (v == u) v = (v + 1) % n;
+                    sink.edge(u, v, weight(rnd));
+                }
+            }
+            case GIANT_SCC_TAIL -> {
+                int giant = n / 2;
+                for (int v = 0; v < giant; v++) sink.edge(v, (v + 1) % giant, weight(rnd));
+                for (int i = giant; i < m; i++) {
+                    int a = rnd.nextInt(n), b = other(rnd, a);
+                    if (a >= giant && b < giant) { int t = a; a = b; b = t; }
+                    else if (a >= giant && a > b) { int t = a; a = b; b = t; }
+                    sink.edge(a, b, weight(rnd));
+                }
+            }
+        }
+    }
+
+    public void writeBinary(BinaryGraphWriter out, String name, int source) throws IOException {
+        out.write(name, true, n, m, source, "edge", this);
+    }
+
+    // One graph object in the GraphIO batch layout, edges written as they are generated.
+    public void writeJson(Writer out, String name, int source) throws IOException {
+        out.write("{\"name\": \"" + name.replace("\\", "\\\\").replace("\"", "\\\"") + "\", \"directed\": true, \"n\": " + n
+                + ", \"source\": " + source + ", \"weight_model\": \"edge\", \"edges\": [");
+        boolean[] first = {true};
+        forEachEdge((u, v, w) -> {
+            if (!first[0]) out.write(',');
+            first[0] = false;
+            out.write("\n{\"u\":");
+            out.write(Integer.toString(u));
+            out.write(",\"v\":");
+            out.write(Integer.toString(v));
+            out.write(",\"w\":");
+            out.write(Integer.toString(w));
+            out.write('}');
+        });
+        out.write("]}");
+    }
+
+    // Writes `count` graphs seeded seed, seed+1, ... as a JSON batch or, for *.bin paths, a binary batch.
+    public static void writeBatch(Path out, Shape shape, int n, int m, long seed, int maxWeight, int count) throws IOException {
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        if (out.toString().endsWith(".bin")) {
+            try (BinaryGraphWriter w = new BinaryGraphWriter(out)) {
+                for (int i = 0; i < count; i++) {
+                    GraphGenerator g = new GraphGenerator(shape, n, m, seed + i, maxWeight);
+                    g.writeBinary(w, g.defaultName(), 0);
+                }
+            }
+            return;
+        }
+        try (Writer w = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(out), StandardCharsets.UTF_8), 1 << 20)) {
+            w.write("{\"graphs\": [\n");
+            for (int i = 0; i < count; i++) {
+                GraphGenerator g = new GraphGenerator(shape, n, m, seed + i, maxWeight);
+                if (i > 0) w.write(",\n");
+                g.writeJson(w, g.defaultName(), 0);
+            }
+            w.write("\n]}\n");
+        }
+    }
+
+    // java graph.gen.GraphGenerator <shape> <n> <m> <seed> <out.json|out.bin> [count] [maxWeight]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.err.println("usage: GraphGenerator <" + String.join("|", Arrays.stream(Shape.values()).map(Enum::name).toList())
+                    + "> <n> <m> <seed> <out.json|out.bin> [count=1] [maxWeight=100]");
+            System.exit(2);
+        }
+        Shape shape = Shape.valueOf(args[0].toUpperCase(Locale.ROOT));
+        int count = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+        int maxWeight = args.length > 6 ? Integer.parseInt(args[6]) : 100;
+        Path out = Path.of(args[4]);
+        writeBatch(out, shape, Integer.parseInt(args[1]), Integer.parseInt(args[2]), Long.parseLong(args[3]), maxWeight, count);
+        System.out.println("Wrote " + count + " " + shape + " graph(s) to " + out);
+    }
+
+    private int weight(SplittableRandom rnd) { return 1 + rnd.nextInt(maxWeight); }
+
+    private int other(SplittableRandom rnd, int a) {
+        int b = rnd.nextInt(n - 1);
+        return b >= a ? b + 1 : b;
+    }
+
+    private static int gridCols(int n) { return (int) Math.ceil(Math.sqrt(n)); }
+
+    private static int gridEdges(int n) {
+        int cols = gridCols(n);
+        long m = 0;
+        for (int v = 0; v < n; v++) {
+            if ((v + 1) % cols != 0 && v + 1 < n) m++;
+            if (v + cols < n) m++;
+        }
+        return (int) m;
+    }
+}
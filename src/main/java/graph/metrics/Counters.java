@@ -0,0 +1,26 @@
+package graph.metrics;
+
+// Work counters for one algorithm run. Algorithms count in locals and publish here once at the end,
+// so passing null (disabled) costs nothing and one instance must not be shared between threads.
+public final class Counters {
+    public long dfsCalls, edgesScanned, maxStackDepth, relaxations, updates, queuePops;
+
+    public void reset() {
+        dfsCalls = edgesScanned = maxStackDepth = relaxations = updates = queuePops = 0;
+    }
+
+    public void add(Counters o) {
+        dfsCalls += o.dfsCalls;
+        edgesScanned += o.edgesScanned;
+        maxStackDepth = Math.max(maxStackDepth, o.maxStackDepth);
+        relaxations += o.relaxations;
+        updates += o.updates;
+        queuePops += o.queuePops;
+    }
+
+    @Override
+    public String toString() {
+        return "dfsCalls=" + dfsCalls + " edgesScanned=" + edgesScanned + " maxStackDepth=" + maxStackDepth
+                + " relaxations=" + relaxations + " updates=" + updates + " queuePops=" + queuePops;
+    }
+}
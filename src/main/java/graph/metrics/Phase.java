@@ -0,0 +1,3 @@
+package graph.metrics;
+
+public enum Phase { SCC, CONDENSATION, SHORTEST, LONGEST, TOTAL }
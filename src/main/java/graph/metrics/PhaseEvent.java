@@ -0,0 +1,32 @@
+package graph.metrics;
+
+import jdk.jfr.*;
+
+// One JFR event per pipeline phase; free unless a recording enables graph.Phase, e.g.
+// java -XX:StartFlightRecording:filename=run.jfr ... then `jfr print --events graph.Phase run.jfr`.
+@Name("graph.Phase")
+@Label("Graph Algorithm Phase")
+@Category("Graph Algorithms")
+@StackTrace(false)
+public final class PhaseEvent extends Event {
+    @Label("Phase") public String phase;
+    @Label("Graph") public String graph;
+    @Label("Vertices") public int vertices;
+    @Label("Edges") public int edges;
+    @Label("DFS Calls") public long dfsCalls;
+    @Label("Edges Scanned") public long edgesScanned;
+    @Label("Max Stack Depth") public long maxStackDepth;
+    @Label("Relaxations") public long relaxations;
+    @Label("Updates") public long updates;
+    @Label("Queue Pops") public long queuePops;
+
+    public void set(Phase p, String graph, int vertices, int edges, Counters c) {
+        this.phase = p.name();
+        this.graph = graph;
+        this.vertices = vertices;
+        this.edges = edges;
+        if (c == null) return;
+        dfsCalls = c.dfsCalls; edgesScanned = c.edgesScanned; maxStackDepth = c.maxStackDepth;
+        relaxations = c.relaxations; updates = c.updates; queuePops = c.queuePops;
+    }
+}
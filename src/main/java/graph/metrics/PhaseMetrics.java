@@ -0,0 +1,40 @@
+package graph.metrics;
+
+import java.util.*;
+
+// Batch-wide view: a latency histogram and summed counters per phase. Shared by every worker
+// of a BatchProcessor run; record() is thread-safe.
+public final class PhaseMetrics {
+    private final EnumMap<Phase, LatencyHistogram> latency = new EnumMap<>(Phase.class);
+    private final EnumMap<Phase, Counters> totals = new EnumMap<>(Phase.class);
+
+    public PhaseMetrics() {
+        for (Phase p : Phase.values()) { latency.put(p, new LatencyHistogram()); totals.put(p, new Counters()); }
+    }
+
+    public void record(Phase p, long ns, Counters c) {
+        latency.get(p).record(ns);
+        if (c == null) return;
+        Counters t = totals.get(p);
+        synchronized (t) { t.add(c); }
+    }
+
+    public LatencyHistogram latency(Phase p) { return latency.get(p); }
+
+    // Snapshot of the summed counters for p.
+    public Counters totals(Phase p) {
+        Counters t = totals.get(p), copy = new Counters();
+        synchronized (t) { copy.add(t); }
+        return copy;
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder(String.format("%-13s %8s %12s %12s %12s %12s%n", "phase", "count", "p50_ns", "p99_ns", "max_ns", "mean_ns"));
+        for (Phase p : Phase.values()) {
+            LatencyHistogram h = latency.get(p);
+            sb.append(String.format(Locale.ROOT, "%-13s %8d %12d %12d %12d %12.0f  %s%n", p, h.count(), h.percentile(0.5),
+                    h.percentile(0.99), h.max(), h.mean(), totals(p)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package graph.pipeline;
+
+import graph.GraphIO;
+import graph.GraphIO.GraphSpec;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.Stream;
+
+// Runs GraphProcessor over a batch concurrently. At most maxInFlight graphs are parsed-but-unfinished
+// at any time: once the window is full the producer waits for the oldest graph, which also lets
+// results be emitted strictly in input order.
+public class BatchProcessor implements AutoCloseable {
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final boolean ownsExecutor;
+
+    public BatchProcessor(ExecutorService executor, int maxInFlight) {
+        this(executor, maxInFlight, false);
+    }
+
+    private BatchProcessor(ExecutorService executor, int maxInFlight, boolean ownsExecutor) {
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be >= 1");
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public static BatchProcessor withThreads(int threads) {
+        return new BatchProcessor(Executors.newFixedThreadPool(threads), threads * 2, true);
+    }
+
+    public static BatchProcessor withVirtualThreads(int maxInFlight) {
+        return new BatchProcessor(Executors.newVirtualThreadPerTaskExecutor(), maxInFlight, true);
+    }
+
+    public void process(Iterator<GraphSpec> in, Consumer<GraphResult> out) {
+        process(in, GraphProcessor::process, out);
+    }
+
+    public <R> void process(Iterator<GraphSpec> in, Function<GraphSpec, R> work, Consumer<R> out) {
+        ArrayDeque<Future<R>> window = new ArrayDeque<>(maxInFlight);
+        try {
+            while (in.hasNext()) {
+                if (window.size() == maxInFlight) out.accept(await(window.poll()));
+                GraphSpec g = in.next();
+                window.add(executor.submit(() -> work.apply(g)));
+            }
+            while (!window.isEmpty()) out.accept(await(window.poll()));
+        } finally {
+            for (Future<R> f : window) f.cancel(true);
+        }
+    }
+
+    public void processFile(String path, Consumer<GraphResult> out) throws IOException {
+        try (Stream<GraphSpec> s = GraphIO.streamGraphs(path)) {
+            process(s.iterator(), out);
+        }
+    }
+
+    // Same as processFile, but graphs already in the cache skip all algorithm phases.
+    public void processFile(String path, ResultCache cache, Consumer<GraphResult> out) throws IOException {
+        try (Stream<GraphSpec> s = GraphIO.streamGraphs(path)) {
+            process(s.iterator(), cache::getOrCompute, out);
+        }
+    }
+
+    public List<GraphResult> processAll(List<GraphSpec> graphs) {
+        List<GraphResult> results = new ArrayList<>(graphs.size());
+        process(graphs.iterator(), results::add);
+        return results;
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) executor.shutdown();
+    }
+
+    private static <R> R await(Future<R> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("interrupted while waiting for a graph result");
+        } catch (ExecutionException e) {
+            Throwable c = e.getCause();
+            if (c instanceof RuntimeException re) throw re;
+            if (c instanceof Error err) throw err;
+            throw new CompletionException(c);
+        }
+    }
+}
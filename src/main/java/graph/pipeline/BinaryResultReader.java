@@ -0,0 +1,130 @@
+package graph.pipeline;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// Reads BinaryResultWriter files. next(fields) decodes only the requested columns; the others are
+// skipped by offset and never read from disk.
+public final class BinaryResultReader implements Iterator<StoredResult>, Closeable {
+    private final FileChannel ch;
+    private final Set<ResultField> fields;
+    private final int count;
+    private int read;
+    private long pos;
+
+    public BinaryResultReader(Path path) throws IOException {
+        ch = FileChannel.open(path, StandardOpenOption.READ);
+        ByteBuffer hdr = readAt(0, BinaryResultWriter.FILE_HEADER_BYTES);
+        if (hdr.getInt() != BinaryResultWriter.MAGIC) { ch.close(); throw new IOException(path + " is not a binary results file"); }
+        int version = hdr.getInt();
+        if (version != BinaryResultWriter.VERSION) { ch.close(); throw new IOException("unsupported binary results version " + version); }
+        fields = Collections.unmodifiableSet(ResultField.fromMask(hdr.getInt()));
+        count = hdr.getInt();
+        pos = BinaryResultWriter.FILE_HEADER_BYTES;
+    }
+
+    // Fields the writer stored (VERTEX_DISTS is derivable whenever SCCS and DISTS are present).
+    public Set<ResultField> fields() { return fields; }
+
+    public int count() { return count; }
+
+    @Override
+    public boolean hasNext() { return read < count; }
+
+    @Override
+    public StoredResult next() { return next(fields); }
+
+    public StoredResult next(Set<ResultField> want) {
+        if (!hasNext()) throw new NoSuchElementException();
+        try {
+            ByteBuffer b = readAt(pos, 12);
+            long recordBytes = b.getLong();
+            int headerBytes = b.getInt();
+            ByteBuffer h = readAt(pos + 12, headerBytes + 1);
+            byte[] header = new byte[headerBytes];
+            h.get(header);
+            int cols = h.get() & 0xFF;
+            StoredResult r = readHeader(new VarInts.Reader(header));
+            r.loaded = EnumSet.noneOf(ResultField.class);
+
+            ByteBuffer dir = readAt(pos + 13 + headerBytes, 5 * cols);
+            long at = pos + 13 + headerBytes + 5L * cols;
+            for (int i = 0; i < cols; i++) {
+                ResultField f = ResultField.values()[dir.get()];
+                int len = dir.getInt();
+                if (want.contains(f)) {
+                    byte[] payload = new byte[len];
+                    readAt(at, len).get(payload);
+                    readColumn(f, new VarInts.Reader(payload), r);
+                    r.loaded.add(f);
+                }
+                at += len;
+            }
+            pos += 8 + recordBytes;
+            read++;
+            return r;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException { ch.close(); }
+
+    private static StoredResult readHeader(VarInts.Reader h) {
+        StoredResult r = new StoredResult();
+        r.name = new String(h.bytes(), StandardCharsets.UTF_8);
+        r.weightModel = new String(h.bytes(), StandardCharsets.UTF_8);
+        r.directed = h.var() != 0;
+        r.n = (int) h.var();
+        r.m = (int) h.var();
+        r.source = (int) h.signed();
+        r.condensationNodes = (int) h.var();
+        r.sccCount = (int) h.var();
+        r.maxSccSize = (int) h.var();
+        r.dagEdges = (int) h.var();
+        r.sourceComponent = (int) h.var();
+        r.shortestReachable = (int) h.var();
+        r.shortestBest = (int) h.signed();
+        r.longestBest = (int) h.signed();
+        r.density = Double.longBitsToDouble(h.var());
+        r.sccTimeNs = h.signed();
+        r.topoTimeNs = h.signed();
+        r.shortestTimeNs = h.signed();
+        r.longestTimeNs = h.signed();
+        r.sccDfsCalls = (int) h.signed();
+        r.sccEdgesScanned = (int) h.signed();
+        r.sccMaxDepth = (int) h.signed();
+        r.topoPops = (int) h.signed();
+        r.shortestRelaxations = (int) h.signed();
+        r.shortestUpdated = (int) h.signed();
+        r.longestRelaxations = (int) h.signed();
+        r.longestUpdated = (int) h.signed();
+        return r;
+    }
+
+    private static void readColumn(ResultField f, VarInts.Reader c, StoredResult r) throws IOException {
+        switch (f) {
+            case EDGES -> { r.edgeU = c.ints(); r.edgeV = c.ints(); r.edgeW = c.ints(); }
+            case SCCS -> { r.sccSizes = c.ints(); r.sccMembers = c.ints(); r.compOf = c.ints(); }
+            case CONDENSATION_EDGES -> { r.dagFrom = c.ints(); r.dagTo = c.ints(); r.dagW = c.ints(); }
+            case TOPO_ORDER -> { r.topoComponents = c.ints(); r.topoVertices = c.ints(); }
+            case DISTS -> { r.shortestDist = c.dists(GraphResult.INF); r.longestDist = c.dists(GraphResult.MINF); }
+            case PATHS -> {
+                r.shortestPathComponents = c.ints(); r.shortestPathVertices = c.ints();
+                r.longestPathComponents = c.ints(); r.longestPathVertices = c.ints();
+            }
+            case VERTEX_DISTS -> throw new IOException("unexpected VERTEX_DISTS column");
+        }
+    }
+
+    private ByteBuffer readAt(long at, int len) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(len).order(ByteOrder.LITTLE_ENDIAN);
+        while (b.hasRemaining()) if (ch.read(b, at + b.position()) < 0) throw new EOFException();
+        return b.flip();
+    }
+}
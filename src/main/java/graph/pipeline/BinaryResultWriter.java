@@ -0,0 +1,154 @@
+package graph.pipeline;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+// Compact results container, the binary counterpart of ResultJsonWriter:
+//   file:   int magic "GRES", int version, int fieldMask, int resultCount   (little-endian)
+//   record: long recordBytes (bytes after this field), int headerBytes, header,
+//           byte columnCount, columnCount x (byte field ordinal, int bytes), column payloads
+// The header holds the name, weight_model and every scalar of the summary/metrics as varints. Each
+// column holds one ResultField's arrays, varint/delta-encoded (see VarInts), so a reader can seek past
+// the columns it does not want. VERTEX_DISTS is never stored; it is comp_of applied to DISTS.
+public final class BinaryResultWriter implements Closeable, Consumer<GraphResult> {
+    static final int MAGIC = 0x53455247;
+    static final int VERSION = 2;  // 2: max_stack_depth in the header
+    static final int FILE_HEADER_BYTES = 16;
+
+    private final FileChannel ch;
+    private final Set<ResultField> fields;
+    private final VarInts header = new VarInts(256);
+    private int count;
+
+    public BinaryResultWriter(Path path) throws IOException {
+        this(path, ResultField.ALL);
+    }
+
+    public BinaryResultWriter(Path path, Set<ResultField> fields) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        this.fields = EnumSet.noneOf(ResultField.class);
+        this.fields.addAll(fields);
+        this.fields.remove(ResultField.VERTEX_DISTS);
+        ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer hdr = ByteBuffer.allocate(FILE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC).putInt(VERSION).putInt(ResultField.mask(this.fields)).putInt(0).flip();
+        while (hdr.hasRemaining()) ch.write(hdr);
+    }
+
+    public void write(GraphResult r) throws IOException {
+        header.reset();
+        writeHeader(r);
+        List<ResultField> ids = new ArrayList<>();
+        List<VarInts> cols = new ArrayList<>();
+        for (ResultField f : fields) {
+            VarInts c = column(f, r);
+            ids.add(f);
+            cols.add(c);
+        }
+        long payload = 0;
+        for (VarInts c : cols) payload += c.size();
+        int fixed = 4 + header.size() + 1 + 5 * cols.size();
+        ByteBuffer head = ByteBuffer.allocate(8 + fixed).order(ByteOrder.LITTLE_ENDIAN);
+        head.putLong(fixed + payload).putInt(header.size()).put(header.array(), 0, header.size()).put((byte) cols.size());
+        for (int i = 0; i < cols.size(); i++) head.put((byte) ids.get(i).ordinal()).putInt(cols.get(i).size());
+        writeFully(head.flip());
+        for (VarInts c : cols) writeFully(ByteBuffer.wrap(c.array(), 0, c.size()));
+        count++;
+    }
+
+    @Override
+    public void accept(GraphResult r) {
+        try {
+            write(r);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int count() { return count; }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            ByteBuffer c = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(count).flip();
+            ch.write(c, 12);
+        } finally {
+            ch.close();
+        }
+    }
+
+    // Field order here is the contract with BinaryResultReader.readHeader.
+    private void writeHeader(GraphResult r) {
+        VarInts h = header;
+        h.putBytes(r.graph.name.getBytes(StandardCharsets.UTF_8));
+        h.putBytes(r.graph.weightModel.getBytes(StandardCharsets.UTF_8));
+        h.putVar(r.graph.directed ? 1 : 0);
+        h.putVar(r.graph.n);
+        h.putVar(r.graph.edgeList.size());
+        h.putSigned(r.graph.source);
+        h.putVar(r.condensationNodes);
+        int maxScc = 0;
+        for (List<Integer> comp : r.sccs) maxScc = Math.max(maxScc, comp.size());
+        h.putVar(r.sccs.size());
+        h.putVar(maxScc);
+        h.putVar(r.dagEdges());
+        h.putVar(r.sourceComponent);
+        int reachable = 0;
+        for (int d : r.shortest.dist) if (d < GraphResult.INF) reachable++;
+        h.putVar(reachable);
+        h.putSigned(r.shortest.bestValue);
+        h.putSigned(r.longest.bestValue);
+        h.putVar(Double.doubleToRawLongBits(r.density()));
+        h.putSigned(r.sccTimeNs);
+        h.putSigned(r.topoTimeNs);
+        h.putSigned(r.shortest.timeNs);
+        h.putSigned(r.longest.timeNs);
+        h.putSigned(r.sccDfsCalls);
+        h.putSigned(r.sccEdgesScanned);
+        h.putSigned(r.sccMaxDepth);
+        h.putSigned(r.topoPops);
+        h.putSigned(r.shortest.relaxations);
+        h.putSigned(r.shortest.updated);
+        h.putSigned(r.longest.relaxations);
+        h.putSigned(r.longest.updated);
+    }
+
+    private static VarInts column(ResultField f, GraphResult r) {
+        VarInts c = new VarInts(4 * r.graph.n + 64);
+        switch (f) {
+            case EDGES -> {
+                var e = r.graph.edgeList;
+                int m = e.size();
+                c.putInts(m, e::u); c.putInts(m, e::v); c.putInts(m, e::w);  // encoded in place, no copies
+            }
+            case SCCS -> {
+                int[] sizes = new int[r.sccs.size()], members = new int[r.compOf.length];
+                int k = 0;
+                for (int i = 0; i < sizes.length; i++) {
+                    List<Integer> comp = r.sccs.get(i);
+                    sizes[i] = comp.size();
+                    for (int v : comp) members[k++] = v;
+                }
+                c.putInts(sizes); c.putInts(members); c.putInts(r.compOf);
+            }
+            case CONDENSATION_EDGES -> { c.putInts(r.dagFrom); c.putInts(r.dagTo); c.putInts(r.dagW); }
+            case TOPO_ORDER -> { c.putInts(r.topoComponents); c.putInts(r.topoVertices); }
+            case DISTS -> { c.putDists(r.shortest.dist, GraphResult.INF); c.putDists(r.longest.dist, GraphResult.MINF); }
+            case PATHS -> {
+                c.putInts(r.shortest.pathComponents); c.putInts(r.shortest.pathVertices);
+                c.putInts(r.longest.pathComponents); c.putInts(r.longest.pathVertices);
+            }
+            case VERTEX_DISTS -> throw new IllegalArgumentException("VERTEX_DISTS is derived, not stored");
+        }
+        return c;
+    }
+
+    private void writeFully(ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) ch.write(b);
+    }
+}
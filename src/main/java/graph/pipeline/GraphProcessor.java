@@ -0,0 +1,149 @@
+package graph.pipeline;
+
+import graph.CsrGraph;
+import graph.GraphIO.GraphSpec;
+import graph.metrics.*;
+import graph.scc.Condensation;
+import graph.scc.TarjanSCC;
+import graph.scc.TransitiveReduction;
+
+import java.util.*;
+
+import static graph.pipeline.GraphResult.INF;
+import static graph.pipeline.GraphResult.MINF;
+
+// SCC (with the condensation's topological order) -> condensation -> shortest/longest paths from the source component,
+// mapped back to vertices. The topo order comes out of the SCC traversal, so there is no TOPO phase and the
+// toposort time/pops are reported as not measured. The path passes are folded over the components' members
+// (TarjanSCC.Fused); the condensation is still built for the reported DAG edges and the vertex paths.
+// Stateless; safe to call from many threads at once.
+public final class GraphProcessor {
+    private GraphProcessor() {}
+
+    public static GraphResult process(GraphSpec g) {
+        return process(g, null);
+    }
+
+    // metrics (may be null) collects per-phase latency and counters across a batch; each phase also
+    // emits a graph.Phase JFR event when a recording has it enabled.
+    public static GraphResult process(GraphSpec g, PhaseMetrics metrics) {
+        return process(g, metrics, false);
+    }
+
+    // reduce (opt-in) also stores the transitive reduction of the condensation. It keeps reachability
+    // only, so the shortest/longest passes still use the full DAG. It runs on the common pool and costs about
+    // (parallelism + 1) * C * 32 bytes of scratch (see TransitiveReduction).
+    public static GraphResult process(GraphSpec g, PhaseMetrics metrics, boolean reduce) {
+        GraphResult r = new GraphResult(g);
+        int m = g.edgeList.size();
+        long start = System.nanoTime();
+        CsrGraph csr = CsrGraph.of(g);
+
+        Counters sc = new Counters();
+        PhaseEvent ev = new PhaseEvent();
+        ev.begin();
+        long t0 = System.nanoTime();
+        TarjanSCC.Fused fused = new TarjanSCC(csr).runFused(sc);
+        List<List<Integer>> sccs = fused.components;
+        int[] compOf = fused.compOf;
+        long t1 = System.nanoTime();
+        finish(ev, metrics, Phase.SCC, g, g.n, m, t1 - t0, sc);
+        r.sccs = sccs;
+        r.compOf = compOf;
+        r.sccTimeNs = t1 - t0;
+        r.sccDfsCalls = (int) sc.dfsCalls;
+        r.sccEdgesScanned = (int) sc.edgesScanned;
+        r.sccMaxDepth = (int) sc.maxStackDepth;
+
+        int C = sccs.size();
+        ev = new PhaseEvent();
+        ev.begin();
+        long tcs = System.nanoTime();
+        Condensation cond = Condensation.build(csr, compOf, C);
+        CsrGraph dag = cond.dag;
+        finish(ev, metrics, Phase.CONDENSATION, g, C, dag.m, System.nanoTime() - tcs, null);
+        r.condensationNodes = C;
+        r.dagFrom = new int[dag.m]; r.dagTo = dag.targets; r.dagW = dag.weights;
+        for (int c = 0; c < C; c++) Arrays.fill(r.dagFrom, dag.offsets[c], dag.offsets[c + 1], c);
+
+        int[] topo = fused.topo;
+        r.topoTimeNs = GraphResult.NOT_MEASURED;
+        r.topoPops = GraphResult.NOT_MEASURED;
+        r.topoComponents = topo;
+
+        int srcComp = compOf[Math.max(0, Math.min(g.source, g.n - 1))];
+        r.sourceComponent = srcComp;
+
+        Counters spc = new Counters();
+        ev = new PhaseEvent();
+        ev.begin();
+        long t3s = System.nanoTime();
+        TarjanSCC.Paths sp = fused.shortest(srcComp, spc);
+        long t3e = System.nanoTime();
+        finish(ev, metrics, Phase.SHORTEST, g, C, dag.m, t3e - t3s, spc);
+
+        Counters lpc = new Counters();
+        ev = new PhaseEvent();
+        ev.begin();
+        long t4s = System.nanoTime();
+        TarjanSCC.Paths lp = fused.longest(srcComp, lpc);
+        long t4e = System.nanoTime();
+        finish(ev, metrics, Phase.LONGEST, g, C, dag.m, t4e - t4s, lpc);
+        int[] sDist = sp.dist, lDist = lp.dist;
+
+        int sEnd = -1, sBest = INF;
+        for (int i = 0; i < C; i++) if (sDist[i] < sBest) { sBest = sDist[i]; sEnd = i; }
+        int lEnd = -1, lBest = MINF;
+        for (int i = 0; i < C; i++) if (lDist[i] > lBest) { lBest = lDist[i]; lEnd = i; }
+
+        int[] topoVertices = new int[g.n];
+        int tv = 0;
+        for (int c : topo) {
+            List<Integer> comp = new ArrayList<>(sccs.get(c));
+            Collections.sort(comp);
+            for (int v : comp) topoVertices[tv++] = v;
+        }
+        r.topoVertices = tv == g.n ? topoVertices : Arrays.copyOf(topoVertices, tv);
+
+        if (reduce) {
+            CsrGraph red = TransitiveReduction.of(dag, topo).reduced;
+            r.reducedFrom = new int[red.m]; r.reducedTo = red.targets; r.reducedW = red.weights;
+            for (int c = 0; c < C; c++) Arrays.fill(r.reducedFrom, red.offsets[c], red.offsets[c + 1], c);
+        }
+
+        r.shortest = toPathResult(sDist, sBest, restorePath(sp.parent, sEnd), cond, g.source, t3e - t3s, spc);
+        r.longest = toPathResult(lDist, lBest, restorePath(lp.parent, lEnd), cond, g.source, t4e - t4s, lpc);
+        if (metrics != null) metrics.record(Phase.TOTAL, System.nanoTime() - start, null);
+        return r;
+    }
+
+    private static void finish(PhaseEvent ev, PhaseMetrics metrics, Phase p, GraphSpec g, int vertices, int edges, long ns, Counters c) {
+        ev.end();
+        if (ev.shouldCommit()) {
+            ev.set(p, g.name, vertices, edges, c);
+            ev.commit();
+        }
+        if (metrics != null) metrics.record(p, ns, c);
+    }
+
+    private static GraphResult.PathResult toPathResult(int[] dist, int best, int[] compPath, Condensation cond, int src, long timeNs, Counters c) {
+        GraphResult.PathResult p = new GraphResult.PathResult();
+        p.dist = dist;
+        p.pathComponents = compPath;
+        p.pathVertices = cond.toVertexPath(compPath, src);
+        p.bestValue = best;
+        p.timeNs = timeNs;
+        p.relaxations = (int) c.relaxations;
+        p.updated = (int) c.updates;
+        return p;
+    }
+
+    private static int[] restorePath(int[] parent, int end) {
+        if (end < 0) return new int[0];
+        int len = 0;
+        for (int v = end; v != -1; v = parent[v]) len++;
+        int[] path = new int[len];
+        for (int v = end, i = len - 1; v != -1; v = parent[v]) path[i--] = v;
+        return path;
+    }
+}
@@ -0,0 +1,197 @@
+package graph.pipeline;
+
+import graph.GraphIO.GraphSpec;
+import graph.JsonWriter;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.util.*;
+
+public final class GraphResult {
+    public static final int INF = 1_000_000_000;
+    public static final int MINF = Integer.MIN_VALUE;
+    public static final int NOT_MEASURED = -1;  // metric with no phase behind it; written as null / an empty cell
+
+    public static final class PathResult {
+        public int[] dist;
+        public int[] pathComponents, pathVertices;
+        public int bestValue;
+        public long timeNs;
+        public int relaxations, updated;
+    }
+
+    public final GraphSpec graph;
+    public List<List<Integer>> sccs;
+    public int[] compOf;
+    public int condensationNodes;
+    public int[] dagFrom, dagTo, dagW;
+    public int[] reducedFrom, reducedTo, reducedW;  // transitive reduction of the DAG; null unless requested
+    public int[] topoComponents, topoVertices;
+    public int sourceComponent;
+    public PathResult shortest, longest;
+    public long sccTimeNs, topoTimeNs;
+    public int sccDfsCalls, sccEdgesScanned, sccMaxDepth, topoPops;
+
+    public GraphResult(GraphSpec graph) { this.graph = graph; }
+
+    public int dagEdges() { return dagFrom.length; }
+
+    public boolean hasReduction() { return reducedTo != null; }
+
+    // DAG edges the transitive reduction dropped; only with hasReduction().
+    public int reducedRemoved() { return dagFrom.length - reducedTo.length; }
+
+    public boolean isDag() { return condensationNodes == graph.n; }
+
+    public double density() {
+        int n = graph.n, m = graph.edgeList.size();
+        return graph.directed ? (m / Math.max(1.0, (double) n * (n - 1))) :
+                (m / Math.max(1.0, (double) n * (n - 1) / 2.0));
+    }
+
+    // The full document as a DOM, parsed from writeJson so the schema is defined in one place. For
+    // output prefer writeJson / ResultJsonWriter, which never build this.
+    public JSONObject toJson() {
+        StringWriter sw = new StringWriter();
+        try {
+            writeJson(new JsonWriter(sw, false), ResultField.ALL);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // a StringWriter does not throw
+        }
+        return new JSONObject(sw.toString());
+    }
+
+    // Every field, streamed without building a DOM.
+    public void writeJson(JsonWriter w) throws IOException {
+        writeJson(w, ResultField.ALL);
+    }
+
+    // Only the selected optional fields; summary, metrics and the scalar keys are always written.
+    public void writeJson(JsonWriter w, Set<ResultField> fields) throws IOException {
+        GraphSpec g = graph;
+        boolean withPaths = fields.contains(ResultField.PATHS), withDists = fields.contains(ResultField.DISTS),
+                withVertexDists = fields.contains(ResultField.VERTEX_DISTS);
+        w.beginObject();
+        w.name("name").value(g.name);
+        w.name("directed").value(g.directed);
+        w.name("n").value(g.n);
+        w.name("source").value(g.source);
+        w.name("weight_model").value(g.weightModel);
+        if (fields.contains(ResultField.EDGES)) {
+            w.name("edges").beginArray();
+            for (int i = 0; i < g.edgeList.size(); i++)
+                w.beginObject().name("u").value(g.edgeList.u(i)).name("v").value(g.edgeList.v(i)).name("w").value(g.edgeList.w(i)).endObject();
+            w.endArray();
+        }
+
+        w.name("results").beginObject();
+        if (fields.contains(ResultField.SCCS)) {
+            w.name("sccs").beginArray();
+            for (List<Integer> comp : sccs) {
+                w.beginArray();
+                for (int v : comp) w.value(v);
+                w.endArray();
+            }
+            w.endArray();
+            w.name("scc_sizes").beginArray();
+            for (List<Integer> comp : sccs) w.value(comp.size());
+            w.endArray();
+            w.name("comp_of").ints(compOf);
+        }
+        w.name("condensation_nodes").value(condensationNodes);
+        if (fields.contains(ResultField.CONDENSATION_EDGES)) {
+            w.name("condensation_edges").beginArray();
+            for (int i = 0; i < dagFrom.length; i++)
+                w.beginObject().name("from").value(dagFrom[i]).name("to").value(dagTo[i]).name("w").value(dagW[i]).endObject();
+            w.endArray();
+        }
+        if (hasReduction()) {
+            if (fields.contains(ResultField.CONDENSATION_EDGES)) {
+                w.name("reduced_condensation_edges").beginArray();
+                for (int i = 0; i < reducedTo.length; i++)
+                    w.beginObject().name("from").value(reducedFrom[i]).name("to").value(reducedTo[i]).name("w").value(reducedW[i]).endObject();
+                w.endArray();
+            }
+            w.name("reduced_edges_removed").value(reducedRemoved());
+        }
+        if (fields.contains(ResultField.TOPO_ORDER)) {
+            w.name("topo_order_components").ints(topoComponents);
+            w.name("topo_order_vertices").ints(topoVertices);
+        }
+
+        w.name("shortest_on_condensation").beginObject();
+        w.name("source_component").value(sourceComponent);
+        if (withDists) dists(w.name("dist"), shortest.dist, false);
+        if (withPaths) w.name("path_components").ints(shortest.pathComponents).name("path_vertices").ints(shortest.pathVertices);
+        w.endObject();
+
+        w.name("longest_on_condensation").beginObject();
+        w.name("source_component").value(sourceComponent);
+        if (withDists) dists(w.name("dist"), longest.dist, true);
+        maxDistance(w.name("max_distance"));
+        if (withPaths) w.name("path_components").ints(longest.pathComponents).name("path_vertices").ints(longest.pathVertices);
+        w.endObject();
+
+        w.name("shortest_on_vertices").beginObject();
+        if (withVertexDists) dists(w.name("dist"), vertexDist(shortest.dist), false);
+        if (withPaths) w.name("path_vertices").ints(shortest.pathVertices);
+        w.endObject();
+
+        w.name("longest_on_vertices").beginObject();
+        if (withVertexDists) dists(w.name("dist"), vertexDist(longest.dist), true);
+        if (withPaths) w.name("path_vertices").ints(longest.pathVertices);
+        maxDistance(w.name("max_distance"));
+        w.endObject();
+
+        w.name("metrics").beginObject();
+        w.name("scc").beginObject()
+                .name("time_ns").value(sccTimeNs).name("dfs_calls").value(sccDfsCalls).name("edges_scanned").value(sccEdgesScanned)
+                .name("max_stack_depth").value(sccMaxDepth)
+                .endObject();
+        w.name("toposort").beginObject();
+        measured(w.name("time_ns"), topoTimeNs);
+        w.name("nodes").value(condensationNodes).name("edges").value(dagEdges());
+        measured(w.name("pops"), topoPops);
+        w.endObject();
+        pathMetrics(w.name("dag_shortest"), shortest);
+        pathMetrics(w.name("dag_longest"), longest);
+        w.endObject();
+
+        w.name("summary").beginObject();
+        w.name("n").value(g.n);
+        w.name("m").value(g.edgeList.size());
+        w.name("density").value(density());
+        w.name("is_dag").value(isDag());
+        w.name("graph_type").value(isDag() ? "DAG" : "Cyclic");
+        w.endObject();
+
+        w.endObject();
+        w.endObject();
+    }
+
+    public int[] vertexDist(int[] compDist) {
+        int[] d = new int[graph.n];
+        for (int v = 0; v < graph.n; v++) d[v] = compDist[compOf[v]];
+        return d;
+    }
+
+    private void maxDistance(JsonWriter w) throws IOException {
+        if (longest.bestValue == MINF) w.nullValue(); else w.value(longest.bestValue);
+    }
+
+    private static void measured(JsonWriter w, long v) throws IOException {
+        if (v == NOT_MEASURED) w.nullValue(); else w.value(v);
+    }
+
+    private static void pathMetrics(JsonWriter w, PathResult p) throws IOException {
+        w.beginObject().name("time_ns").value(p.timeNs).name("relaxations").value(p.relaxations).name("updated").value(p.updated).endObject();
+    }
+
+    private static void dists(JsonWriter w, int[] d, boolean longest) throws IOException {
+        w.beginArray();
+        for (int x : d) {
+            if (longest ? x == MINF : x >= INF) w.nullValue(); else w.value(x);
+        }
+        w.endArray();
+    }
+}
@@ -0,0 +1,275 @@
+package graph.pipeline;
+
+import graph.EdgeList;
+import graph.GraphIO.GraphSpec;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+// Content-addressed cache of GraphResults. The key is a 128-bit hash of (n, directed, source,
+// weight_model, edge list) - the name is not part of it, so renamed copies of a graph hit too.
+// Two tiers: an LRU map bounded by the approximate bytes of the cached int arrays, and an optional
+// directory with one <key>.res file per result, bounded by total file bytes (least recently used
+// files are deleted first; files left by earlier runs count from startup). A hit skips every algorithm
+// phase; the stored arrays are shared with the new GraphResult, so treat results as read-only.
+// A failed disk write is counted (storeFailures) and otherwise ignored: the result is still returned.
+public final class ResultCache {
+    private static final int FORMAT = 4;
+    public static final long DEFAULT_DISK_BYTES = 1L << 30;
+
+    private final long maxBytes, maxDiskBytes;
+    private final Path dir;
+    private final LinkedHashMap<Key, Entry> lru = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(64, 0.75f, true);  // guarded by files
+    private long bytes, diskBytes;
+    private final LongAdder memoryHits = new LongAdder(), diskHits = new LongAdder(), misses = new LongAdder(),
+            storeFailures = new LongAdder();
+
+    public record Key(long hi, long lo) {
+        public String hex() { return String.format("%016x%016x", hi, lo); }
+    }
+
+    private record Entry(GraphResult result, long bytes) {}
+
+    // dir may be null for a memory-only cache; maxBytes 0 disables the memory tier.
+    public ResultCache(long maxBytes, Path dir) throws IOException {
+        this(maxBytes, dir, DEFAULT_DISK_BYTES);
+    }
+
+    public ResultCache(long maxBytes, Path dir, long maxDiskBytes) throws IOException {
+        if (maxBytes < 0 || maxDiskBytes < 0) throw new IllegalArgumentException("maxBytes and maxDiskBytes must be >= 0");
+        this.maxBytes = maxBytes;
+        this.maxDiskBytes = maxDiskBytes;
+        this.dir = dir;
+        if (dir == null) return;
+        Files.createDirectories(dir);
+        List<Path> existing = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "*.res")) {
+            for (Path f : ds) existing.add(f);
+        }
+        Map<Path, Long> modified = new HashMap<>();
+        for (Path f : existing) modified.put(f, Files.getLastModifiedTime(f).toMillis());
+        existing.sort(Comparator.comparing(modified::get));
+        synchronized (files) {
+            for (Path f : existing) {
+                long size = Files.size(f);
+                files.put(f.getFileName().toString(), size);
+                diskBytes += size;
+            }
+            evictFiles();
+        }
+    }
+
+    public GraphResult getOrCompute(GraphSpec g) {
+        Key k = key(g);
+        GraphResult hit = lookup(k, g);
+        if (hit != null) return hit;
+        misses.increment();
+        GraphResult r = GraphProcessor.process(g);
+        remember(k, r);
+        if (dir != null) store(k, r);
+        return r;
+    }
+
+    public long memoryHits() { return memoryHits.sum(); }
+    public long diskHits() { return diskHits.sum(); }
+    public long hits() { return memoryHits() + diskHits(); }
+    public long misses() { return misses.sum(); }
+    public long storeFailures() { return storeFailures.sum(); }
+
+    public long diskBytes() { synchronized (files) { return diskBytes; } }
+
+    public synchronized long memoryBytes() { return bytes; }
+    public synchronized int memoryEntries() { return lru.size(); }
+
+    // Two independently seeded 64-bit multiply-xorshift streams over the graph's int content.
+    public static Key key(GraphSpec g) {
+        long h1 = 0x243F6A8885A308D3L, h2 = 0x13198A2E03707344L;
+        long head = ((long) g.n << 32) ^ (g.source & 0xFFFFFFFFL) ^ (g.directed ? 1L << 63 : 0);
+        h1 = step(h1, head); h2 = step2(h2, head);
+        for (byte b : g.weightModel.getBytes(StandardCharsets.UTF_8)) { h1 = step(h1, b); h2 = step2(h2, b); }
+        EdgeList e = g.edgeList;
+        int m = e.size();
+        h1 = step(h1, m); h2 = step2(h2, m);
+        for (int i = 0; i < m; i++) {
+            long uv = ((long) e.u(i) << 32) | (e.v(i) & 0xFFFFFFFFL);
+            h1 = step(step(h1, uv), e.w(i));
+            h2 = step2(step2(h2, uv), e.w(i));
+        }
+        return new Key(fmix(h1), fmix(h2));
+    }
+
+    private GraphResult lookup(Key k, GraphSpec g) {
+        GraphResult cached;
+        synchronized (this) {
+            Entry e = lru.get(k);
+            cached = e == null ? null : e.result;
+        }
+        if (cached != null) {
+            memoryHits.increment();
+            return rebind(cached, g);
+        }
+        if (dir == null) return null;
+        Path f = dir.resolve(k.hex() + ".res");
+        if (!Files.exists(f)) return null;
+        synchronized (files) { files.get(f.getFileName().toString()); }  // mark recently used
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(f), 1 << 16))) {
+            if (in.readInt() != FORMAT) return null;
+            GraphResult r = read(in, g);
+            diskHits.increment();
+            remember(k, r);
+            return r;
+        } catch (IOException | RuntimeException corrupt) {
+            return null;  // treat an unreadable file as a miss; it is rewritten below
+        }
+    }
+
+    private synchronized void remember(Key k, GraphResult r) {
+        long size = approxBytes(r);
+        if (size > maxBytes) return;
+        Entry old = lru.put(k, new Entry(r, size));
+        if (old != null) bytes -= old.bytes;
+        bytes += size;
+        for (Iterator<Entry> it = lru.values().iterator(); bytes > maxBytes && it.hasNext(); ) {
+            bytes -= it.next().bytes;
+            it.remove();
+        }
+    }
+
+    // Write to a temp file and move it into place so concurrent readers never see a partial result.
+    private void store(Key k, GraphResult r) {
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(dir, k.hex(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(FORMAT);
+                write(out, r);
+            }
+            long size = Files.size(tmp);
+            if (size > maxDiskBytes) { Files.delete(tmp); return; }
+            String name = k.hex() + ".res";
+            Files.move(tmp, dir.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (files) {
+                Long old = files.put(name, size);
+                diskBytes += size - (old == null ? 0 : old);
+                evictFiles();
+            }
+        } catch (IOException e) {
+            storeFailures.increment();
+            if (tmp != null) {
+                try { Files.deleteIfExists(tmp); } catch (IOException ignored) { }
+            }
+        }
+    }
+
+    // Caller holds files. A file that cannot be deleted is dropped from the index anyway.
+    private void evictFiles() {
+        for (Iterator<Map.Entry<String, Long>> it = files.entrySet().iterator(); diskBytes > maxDiskBytes && it.hasNext(); ) {
+            Map.Entry<String, Long> e = it.next();
+            try { Files.deleteIfExists(dir.resolve(e.getKey())); } catch (IOException ignored) { }
+            diskBytes -= e.getValue();
+            it.remove();
+        }
+    }
+
+    private static GraphResult rebind(GraphResult c, GraphSpec g) {
+        GraphResult r = new GraphResult(g);
+        r.sccs = c.sccs; r.compOf = c.compOf; r.condensationNodes = c.condensationNodes;
+        r.dagFrom = c.dagFrom; r.dagTo = c.dagTo; r.dagW = c.dagW;
+        r.topoComponents = c.topoComponents; r.topoVertices = c.topoVertices;
+        r.sourceComponent = c.sourceComponent; r.shortest = c.shortest; r.longest = c.longest;
+        r.sccTimeNs = c.sccTimeNs; r.topoTimeNs = c.topoTimeNs;
+        r.sccDfsCalls = c.sccDfsCalls; r.sccEdgesScanned = c.sccEdgesScanned; r.sccMaxDepth = c.sccMaxDepth; r.topoPops = c.topoPops;
+        return r;
+    }
+
+    private static void write(DataOutputStream out, GraphResult r) throws IOException {
+        out.writeInt(r.sccs.size());
+        for (List<Integer> comp : r.sccs) {
+            out.writeInt(comp.size());
+            for (int v : comp) out.writeInt(v);
+        }
+        ints(out, r.compOf);
+        out.writeInt(r.condensationNodes);
+        ints(out, r.dagFrom); ints(out, r.dagTo); ints(out, r.dagW);
+        ints(out, r.topoComponents); ints(out, r.topoVertices);
+        out.writeInt(r.sourceComponent);
+        path(out, r.shortest);
+        path(out, r.longest);
+        out.writeLong(r.sccTimeNs); out.writeLong(r.topoTimeNs);
+        out.writeInt(r.sccDfsCalls); out.writeInt(r.sccEdgesScanned); out.writeInt(r.sccMaxDepth); out.writeInt(r.topoPops);
+    }
+
+    private static GraphResult read(DataInputStream in, GraphSpec g) throws IOException {
+        GraphResult r = new GraphResult(g);
+        int C = in.readInt();
+        List<List<Integer>> sccs = new ArrayList<>(C);
+        for (int c = 0; c < C; c++) {
+            int size = in.readInt();
+            List<Integer> comp = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) comp.add(in.readInt());
+            sccs.add(comp);
+        }
+        r.sccs = sccs;
+        r.compOf = ints(in);
+        r.condensationNodes = in.readInt();
+        r.dagFrom = ints(in); r.dagTo = ints(in); r.dagW = ints(in);
+        r.topoComponents = ints(in); r.topoVertices = ints(in);
+        r.sourceComponent = in.readInt();
+        r.shortest = path(in);
+        r.longest = path(in);
+        r.sccTimeNs = in.readLong(); r.topoTimeNs = in.readLong();
+        r.sccDfsCalls = in.readInt(); r.sccEdgesScanned = in.readInt(); r.sccMaxDepth = in.readInt(); r.topoPops = in.readInt();
+        return r;
+    }
+
+    private static void path(DataOutputStream out, GraphResult.PathResult p) throws IOException {
+        ints(out, p.dist); ints(out, p.pathComponents); ints(out, p.pathVertices);
+        out.writeInt(p.bestValue); out.writeLong(p.timeNs); out.writeInt(p.relaxations); out.writeInt(p.updated);
+    }
+
+    private static GraphResult.PathResult path(DataInputStream in) throws IOException {
+        GraphResult.PathResult p = new GraphResult.PathResult();
+        p.dist = ints(in); p.pathComponents = ints(in); p.pathVertices = ints(in);
+        p.bestValue = in.readInt(); p.timeNs = in.readLong(); p.relaxations = in.readInt(); p.updated = in.readInt();
+        return p;
+    }
+
+    private static void ints(DataOutputStream out, int[] a) throws IOException {
+        out.writeInt(a.length);
+        for (int x : a) out.writeInt(x);
+    }
+
+    private static int[] ints(DataInputStream in) throws IOException {
+        int[] a = new int[in.readInt()];
+        for (int i = 0; i < a.length; i++) a[i] = in.readInt();
+        return a;
+    }
+
+    // int arrays plus ~20 bytes per boxed SCC member
+    private static long approxBytes(GraphResult r) {
+        long ints = r.compOf.length + 3L * r.dagFrom.length + r.topoComponents.length + r.topoVertices.length
+                + r.shortest.dist.length + r.shortest.pathComponents.length + r.shortest.pathVertices.length
+                + r.longest.dist.length + r.longest.pathComponents.length + r.longest.pathVertices.length;
+        return 4 * ints + 20L * r.compOf.length + 256;
+    }
+
+    private static long step(long h, long x) {
+        h ^= x * 0x9E3779B97F4A7C15L;
+        return Long.rotateLeft(h, 27) * 0xC2B2AE3D27D4EB4FL + 0x165667B19E3779F9L;
+    }
+
+    private static long step2(long h, long x) {
+        h ^= x * 0xD6E8FEB86659FD93L;
+        return Long.rotateLeft(h, 31) * 0xFF51AFD7ED558CCDL + 0x27D4EB2F165667C5L;
+    }
+
+    private static long fmix(long h) {
+        h ^= h >>> 33; h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33; h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ h >>> 33;
+    }
+}
@@ -0,0 +1,30 @@
+package graph.pipeline;
+
+import java.util.*;
+
+// Optional parts of a graph result, selectable per run. Scalars (summary, metrics, path lengths)
+// are always written; everything here scales with n or m.
+//   EDGES               the echoed input edge list
+//   SCCS                sccs, scc_sizes, comp_of
+//   CONDENSATION_EDGES  condensation_edges
+//   TOPO_ORDER          topo_order_components, topo_order_vertices
+//   DISTS               per-component dist of the shortest/longest passes
+//   VERTEX_DISTS        per-vertex dist (JSON only; the binary format derives it from comp_of + DISTS)
+//   PATHS               path_components / path_vertices of both passes
+public enum ResultField {
+    EDGES, SCCS, CONDENSATION_EDGES, TOPO_ORDER, DISTS, VERTEX_DISTS, PATHS;
+
+    public static final Set<ResultField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ResultField.class));
+
+    public static int mask(Set<ResultField> fields) {
+        int mask = 0;
+        for (ResultField f : fields) mask |= 1 << f.ordinal();
+        return mask;
+    }
+
+    public static EnumSet<ResultField> fromMask(int mask) {
+        EnumSet<ResultField> s = EnumSet.noneOf(ResultField.class);
+        for (ResultField f : values()) if ((mask & 1 << f.ordinal()) != 0) s.add(f);
+        return s;
+    }
+}
@@ -0,0 +1,61 @@
+package graph.pipeline;
+
+import graph.JsonWriter;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// {"graphs": [...]} written one result at a time: each GraphResult is streamed into a buffered
+// channel and flushed as soon as it arrives, so peak memory is one graph's result and a partial
+// file is readable up to the last finished graph. Pass it straight to BatchProcessor as the consumer.
+public final class ResultJsonWriter implements Closeable, Consumer<GraphResult> {
+    private final JsonWriter w;
+    private final Set<ResultField> fields;
+    private int count;
+
+    public ResultJsonWriter(Path out) throws IOException {
+        this(out, false);
+    }
+
+    public ResultJsonWriter(Path out, boolean pretty) throws IOException {
+        this(out, pretty, ResultField.ALL);
+    }
+
+    public ResultJsonWriter(Path out, boolean pretty, Set<ResultField> fields) throws IOException {
+        this.fields = fields;
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        FileChannel ch = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        w = new JsonWriter(new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(ch), StandardCharsets.UTF_8), 1 << 16), pretty);
+        w.beginObject().name("graphs").beginArray();
+    }
+
+    public void write(GraphResult r) throws IOException {
+        r.writeJson(w, fields);
+        w.flush();
+        count++;
+    }
+
+    @Override
+    public void accept(GraphResult r) {
+        try {
+            write(r);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int count() { return count; }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            w.endArray().endObject().newline();
+        } finally {
+            w.close();
+        }
+    }
+}
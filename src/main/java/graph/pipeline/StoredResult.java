@@ -0,0 +1,37 @@
+package graph.pipeline;
+
+import java.util.Set;
+
+// One record read back by BinaryResultReader. Scalars are always present; array fields are null
+// unless their ResultField was both written and requested (see loaded).
+public final class StoredResult {
+    public String name, weightModel;
+    public boolean directed;
+    public int n, m, source;
+    public int condensationNodes, sccCount, maxSccSize, dagEdges, sourceComponent, shortestReachable;
+    public int shortestBest, longestBest;
+    public double density;
+    public long sccTimeNs, topoTimeNs, shortestTimeNs, longestTimeNs;
+    public int sccDfsCalls, sccEdgesScanned, sccMaxDepth, topoPops;
+    public int shortestRelaxations, shortestUpdated, longestRelaxations, longestUpdated;
+    public Set<ResultField> loaded;
+
+    public int[] edgeU, edgeV, edgeW;                                    // EDGES
+    public int[] sccSizes, sccMembers, compOf;                          // SCCS (members concatenated in scc order)
+    public int[] dagFrom, dagTo, dagW;                                  // CONDENSATION_EDGES
+    public int[] topoComponents, topoVertices;                          // TOPO_ORDER
+    public int[] shortestDist, longestDist;                             // DISTS, per component
+    public int[] shortestPathComponents, shortestPathVertices;          // PATHS
+    public int[] longestPathComponents, longestPathVertices;
+
+    public boolean isDag() { return condensationNodes == n; }
+
+    public boolean hasLongest() { return longestBest != GraphResult.MINF; }
+
+    // Per-vertex distances; needs SCCS and DISTS.
+    public int[] vertexDist(int[] compDist) {
+        int[] d = new int[n];
+        for (int v = 0; v < n; v++) d[v] = compDist[compOf[v]];
+        return d;
+    }
+}
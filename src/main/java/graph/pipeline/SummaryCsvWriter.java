@@ -0,0 +1,209 @@
+package graph.pipeline;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+// summary.csv rows written straight from each GraphResult as the pipeline emits it, in the same
+// columns and number formats as the results-JSON export, so no results file is parsed again.
+// With a columnar directory, every numeric column is also appended to <dir>/<column>.<i32|i64|f64>
+// as little-endian primitives (booleans as i32 0/1), one value per graph, readable with a plain
+// memory map.
+public final class SummaryCsvWriter implements Closeable, Consumer<GraphResult> {
+    public static final List<String> COLUMNS = List.of(
+            "file", "name", "n", "m", "density", "is_dag", "graph_type",
+            "scc_count", "avg_scc_size", "max_scc_size", "scc_sizes",
+            "topo_len_components", "topo_len_vertices", "topo_order_vertices",
+            "src_comp", "short_reachable_components", "short_path_components", "short_path_vertices",
+            "long_max_distance", "long_path_components", "long_path_vertices",
+            "scc_time_ns", "topo_time_ns", "short_time_ns", "long_time_ns",
+            "scc_dfs_calls", "scc_edges_scanned", "topo_nodes", "topo_edges", "topo_pops",
+            "short_relax", "short_updated", "long_relax", "long_updated");
+
+    private final Writer out;
+    private final String file;
+    private final Path columnar;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private final StringBuilder row = new StringBuilder(256);
+    private int count;
+
+    public SummaryCsvWriter(Path csv, String file) throws IOException {
+        this(csv, file, null);
+    }
+
+    // file fills the "file" column (the export used the results file name); columnar may be null.
+    public SummaryCsvWriter(Path csv, String file, Path columnar) throws IOException {
+        if (csv.getParent() != null) Files.createDirectories(csv.getParent());
+        if (columnar != null) Files.createDirectories(columnar);
+        this.file = file;
+        this.columnar = columnar;
+        out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8);
+        out.write(String.join(",", COLUMNS));
+        out.write('\n');
+    }
+
+    public void write(GraphResult r) throws IOException {
+        write(r, file);
+    }
+
+    // Rows for one results file of a multi-file batch: the file column gets this name instead.
+    public Consumer<GraphResult> forFile(String file) {
+        return r -> {
+            try {
+                write(r, file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    public synchronized void write(GraphResult r, String file) throws IOException {
+        int sccCount = r.sccs.size(), maxScc = 0, sumScc = 0;
+        StringBuilder sizes = new StringBuilder();
+        for (List<Integer> comp : r.sccs) {
+            if (!sizes.isEmpty()) sizes.append('|');
+            sizes.append(comp.size());
+            sumScc += comp.size();
+            maxScc = Math.max(maxScc, comp.size());
+        }
+        int reachable = 0;
+        for (int d : r.shortest.dist) if (d < GraphResult.INF) reachable++;
+        boolean hasLongest = r.longest.bestValue != GraphResult.MINF;
+        double density = r.density(), avgScc = sccCount == 0 ? 0.0 : sumScc * 1.0 / sccCount;
+
+        row.setLength(0);
+        text(file); text(r.graph.name);
+        i32("n", r.graph.n); i32("m", r.graph.edgeList.size());
+        f64("density", density); bool("is_dag", r.isDag()); text(r.isDag() ? "DAG" : "Cyclic");
+        i32("scc_count", sccCount); f64("avg_scc_size", avgScc); i32("max_scc_size", maxScc); text(sizes.toString());
+        i32("topo_len_components", r.topoComponents.length); i32("topo_len_vertices", r.topoVertices.length);
+        text(join(r.topoVertices, ";"));
+        i32("src_comp", r.sourceComponent); i32("short_reachable_components", reachable);
+        text(join(r.shortest.pathComponents, "->")); text(join(r.shortest.pathVertices, "->"));
+        if (hasLongest) i32("long_max_distance", r.longest.bestValue);
+        else {
+            row.append(',');  // empty cell; the column file gets MIN_VALUE
+            if (columnar != null) column("long_max_distance", 4).putInt(GraphResult.MINF);
+        }
+        text(join(r.longest.pathComponents, "->")); text(join(r.longest.pathVertices, "->"));
+        i64("scc_time_ns", r.sccTimeNs); measured64("topo_time_ns", r.topoTimeNs);
+        i64("short_time_ns", r.shortest.timeNs); i64("long_time_ns", r.longest.timeNs);
+        i32("scc_dfs_calls", r.sccDfsCalls); i32("scc_edges_scanned", r.sccEdgesScanned);
+        i32("topo_nodes", r.condensationNodes); i32("topo_edges", r.dagEdges()); measured32("topo_pops", r.topoPops);
+        i32("short_relax", r.shortest.relaxations); i32("short_updated", r.shortest.updated);
+        i32("long_relax", r.longest.relaxations); i32("long_updated", r.longest.updated);
+        out.append(row, 1, row.length()).append('\n');
+        for (Column c : columns.values()) c.flushIfFull();
+        count++;
+    }
+
+    @Override
+    public void accept(GraphResult r) {
+        try {
+            write(r);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int count() { return count; }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException err = null;
+        for (Column c : columns.values()) {
+            try { c.close(); } catch (IOException e) { if (err == null) err = e; }
+        }
+        out.close();
+        if (err != null) throw err;
+    }
+
+    private void text(String s) {
+        row.append(',');
+        if (s == null) return;
+        String q = s.replace("\"", "\"\"");
+        if (q.indexOf(',') >= 0 || q.indexOf('"') >= 0 || q.indexOf('\n') >= 0) row.append('"').append(q).append('"');
+        else row.append(q);
+    }
+
+    private void i32(String col, int v) throws IOException {
+        row.append(',').append(v);
+        if (columnar != null) column(col, 4).putInt(v);
+    }
+
+    private void i64(String col, long v) throws IOException {
+        row.append(',').append(v);
+        if (columnar != null) column(col, 8).putLong(v);
+    }
+
+    // GraphResult.NOT_MEASURED leaves the cell empty, like the JSON null; the column file keeps -1.
+    private void measured32(String col, int v) throws IOException {
+        if (v != GraphResult.NOT_MEASURED) { i32(col, v); return; }
+        row.append(',');
+        if (columnar != null) column(col, 4).putInt(v);
+    }
+
+    private void measured64(String col, long v) throws IOException {
+        if (v != GraphResult.NOT_MEASURED) { i64(col, v); return; }
+        row.append(',');
+        if (columnar != null) column(col, 8).putLong(v);
+    }
+
+    private void bool(String col, boolean v) throws IOException {
+        row.append(',').append(v);
+        if (columnar != null) column(col, 4).putInt(v ? 1 : 0);
+    }
+
+    private void f64(String col, double v) throws IOException {
+        row.append(',');
+        if (!Double.isNaN(v) && !Double.isInfinite(v)) row.append(String.format(Locale.US, "%.6f", v));
+        if (columnar != null) column(col, 8).putDouble(v);
+    }
+
+    private ByteBuffer column(String col, int width) throws IOException {
+        Column c = columns.get(col);
+        if (c == null) {
+            String ext = col.equals("density") || col.equals("avg_scc_size") ? "f64" : width == 8 ? "i64" : "i32";
+            columns.put(col, c = new Column(columnar.resolve(col + "." + ext)));
+        }
+        return c.buf;
+    }
+
+    private static String join(int[] a, String sep) {
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < a.length; i++) {
+            if (i > 0) b.append(sep);
+            b.append(a[i]);
+        }
+        return b.toString();
+    }
+
+    private static final class Column implements Closeable {
+        final FileChannel ch;
+        final ByteBuffer buf = ByteBuffer.allocate(1 << 13).order(ByteOrder.LITTLE_ENDIAN);
+
+        Column(Path p) throws IOException {
+            ch = FileChannel.open(p, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void flushIfFull() throws IOException {
+            if (buf.remaining() < 8) flush();
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try { flush(); } finally { ch.close(); }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package graph.pipeline;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+// LEB128 varints with zigzag signs. Int arrays are stored as a length followed by deltas from the
+// previous element, which keeps sorted or slowly varying arrays (topo orders, comp_of, dists) at one
+// or two bytes per entry. Distance arrays reserve code 0 for "unreachable".
+final class VarInts {
+    private byte[] buf;
+    private int len;
+
+    VarInts(int capacity) { buf = new byte[Math.max(16, capacity)]; }
+
+    int size() { return len; }
+    byte[] array() { return buf; }
+    void reset() { len = 0; }
+
+    void putVar(long x) {
+        ensure(10);
+        while ((x & ~0x7FL) != 0) { buf[len++] = (byte) ((x & 0x7F) | 0x80); x >>>= 7; }
+        buf[len++] = (byte) x;
+    }
+
+    void putSigned(long x) { putVar((x << 1) ^ (x >> 63)); }
+
+    void putBytes(byte[] b) {
+        putVar(b.length);
+        ensure(b.length);
+        System.arraycopy(b, 0, buf, len, b.length);
+        len += b.length;
+    }
+
+    void putInts(int[] a) {
+        putVar(a.length);
+        long prev = 0;
+        for (int x : a) { putSigned(x - prev); prev = x; }
+    }
+
+    // Same encoding as putInts(int[]), for n values read through at(i) rather than from an array.
+    void putInts(int n, IntUnaryOperator at) {
+        putVar(n);
+        long prev = 0;
+        for (int i = 0; i < n; i++) { int x = at.applyAsInt(i); putSigned(x - prev); prev = x; }
+    }
+
+    void putDists(int[] a, int unreachable) {
+        putVar(a.length);
+        long prev = 0;
+        for (int x : a) {
+            if (x == unreachable) { putVar(0); continue; }
+            putVar(zig(x - prev) + 1);
+            prev = x;
+        }
+    }
+
+    private static long zig(long x) { return (x << 1) ^ (x >> 63); }
+
+    private void ensure(int extra) {
+        if (len + extra > buf.length) buf = Arrays.copyOf(buf, Math.max(len + extra, buf.length * 2));
+    }
+
+    static final class Reader {
+        private final byte[] b;
+        private int pos;
+
+        Reader(byte[] b) { this.b = b; }
+
+        long var() {
+            long x = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte v = b[pos++];
+                x |= (long) (v & 0x7F) << shift;
+                if (v >= 0) return x;
+            }
+        }
+
+        long signed() { long z = var(); return (z >>> 1) ^ -(z & 1); }
+
+        byte[] bytes() {
+            int n = (int) var();
+            byte[] out = Arrays.copyOfRange(b, pos, pos + n);
+            pos += n;
+            return out;
+        }
+
+        int[] ints() {
+            int[] a = new int[(int) var()];
+            long prev = 0;
+            for (int i = 0; i < a.length; i++) { prev += signed(); a[i] = (int) prev; }
+            return a;
+        }
+
+        int[] dists(int unreachable) {
+            int[] a = new int[(int) var()];
+            long prev = 0;
+            for (int i = 0; i < a.length; i++) {
+                long code = var();
+                if (code == 0) { a[i] = unreachable; continue; }
+                code--;
+                prev += (code >>> 1) ^ -(code & 1);
+                a[i] = (int) prev;
+            }
+            return a;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package graph.scc;
+
+import graph.CsrGraph;
+
+import java.util.Arrays;
+
+// Condensation DAG of a graph given its component ids. Inter-component edges are ordered by
+// (from, to) with two stable counting-sort passes (LSD radix on component ids), then runs of the
+// same pair collapse to one edge carrying the minimum weight. No boxing and no hashing: the work is
+// O(n + m + C) over a handful of int[] arrays, and the result is already CSR with ascending targets.
+// For every DAG edge slot, bridgeU/bridgeV hold the lexicographically smallest original (u, v) that
+// crosses that component pair, which is what path reconstruction needs.
+public final class Condensation {
+    public final int components;
+    public final CsrGraph dag;
+    public final int[] bridgeU, bridgeV;
+
+    private Condensation(int components, CsrGraph dag, int[] bridgeU, int[] bridgeV) {
+        this.components = components;
+        this.dag = dag;
+        this.bridgeU = bridgeU;
+        this.bridgeV = bridgeV;
+    }
+
+    public static Condensation build(CsrGraph g, int[] compOf, int components) {
+        int C = components;
+        int[] offsets = g.offsets, targets = g.targets, weights = g.weights;
+
+        int[] byTo = new int[C + 1], byFrom = new int[C + 1];
+        int k = 0;
+        for (int u = 0; u < g.n; u++) {
+            int cu = compOf[u];
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int cv = compOf[targets[i]];
+                if (cu != cv) { byTo[cv + 1]++; byFrom[cu + 1]++; k++; }
+            }
+        }
+        for (int c = 0; c < C; c++) { byTo[c + 1] += byTo[c]; byFrom[c + 1] += byFrom[c]; }
+
+        // pass 1: bucket by target component
+        int[] fromA = new int[k], wA = new int[k], uA = new int[k], vA = new int[k];
+        int[] pos = new int[C];
+        System.arraycopy(byTo, 0, pos, 0, C);
+        for (int u = 0; u < g.n; u++) {
+            int cu = compOf[u];
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int cv = compOf[targets[i]];
+                if (cu != cv) { int p = pos[cv]++; fromA[p] = cu; wA[p] = weights[i]; uA[p] = u; vA[p] = targets[i]; }
+            }
+        }
+
+        // pass 2: stable bucket by source component, so targets come out ascending per source
+        int[] toB = new int[k], wB = new int[k], uB = new int[k], vB = new int[k];
+        System.arraycopy(byFrom, 0, pos, 0, C);
+        for (int cv = 0; cv < C; cv++)
+            for (int j = byTo[cv], end = byTo[cv + 1]; j < end; j++) {
+                int p = pos[fromA[j]]++;
+                toB[p] = cv; wB[p] = wA[j]; uB[p] = uA[j]; vB[p] = vA[j];
+            }
+
+        // collapse equal (from, to) runs in place, keeping the minimum weight and the smallest bridge
+        int[] dagOffsets = new int[C + 1];
+        int out = 0;
+        for (int cu = 0; cu < C; cu++) {
+            dagOffsets[cu] = out;
+            for (int j = byFrom[cu], end = byFrom[cu + 1]; j < end; j++) {
+                if (out > dagOffsets[cu] && toB[out - 1] == toB[j]) {
+                    int o = out - 1;
+                    if (wB[j] < wB[o]) wB[o] = wB[j];
+                    if (uB[j] < uB[o] || (uB[j] == uB[o] && vB[j] < vB[o])) { uB[o] = uB[j]; vB[o] = vB[j]; }
+                } else {
+                    toB[out] = toB[j]; wB[out] = wB[j]; uB[out] = uB[j]; vB[out] = vB[j]; out++;
+                }
+            }
+        }
+        dagOffsets[C] = out;
+        CsrGraph dag = new CsrGraph(C, dagOffsets, trim(toB, out), trim(wB, out));
+        return new Condensation(C, dag, trim(uB, out), trim(vB, out));
+    }
+
+    // CSR slot of the DAG edge from -> to, or -1. Targets are sorted, so this is a binary search.
+    public int edgeSlot(int from, int to) {
+        int i = Arrays.binarySearch(dag.targets, dag.offsets[from], dag.offsets[from + 1], to);
+        return i < 0 ? -1 : i;
+    }
+
+    // Expands a component path into vertices, starting at src and crossing each hop through its
+    // smallest (u, v) bridge edge. O(path length * log(out-degree)).
+    public int[] toVertexPath(int[] compPath, int src) {
+        if (compPath.length == 0) return new int[0];
+        int[] out = new int[1 + 2 * (compPath.length - 1)];
+        int len = 0;
+        out[len++] = src;
+        for (int i = 0; i + 1 < compPath.length; i++) {
+            int slot = edgeSlot(compPath[i], compPath[i + 1]);
+            if (slot < 0) continue;
+            if (out[len - 1] != bridgeU[slot]) out[len++] = bridgeU[slot];
+            out[len++] = bridgeV[slot];
+        }
+        return trim(out, len);
+    }
+
+    private static int[] trim(int[] a, int len) {
+        return a.length == len ? a : Arrays.copyOf(a, len);
+    }
+}
@@ -0,0 +1,217 @@
+package graph.scc;
+
+import graph.CsrGraph;
+
+import java.util.*;
+
+// Strongly connected components maintained under edge insertions. Components are union-find sets of
+// vertices, and the condensation keeps a topological order ord[] over component roots that is updated
+// Pearce-Kelly style. Inserting u -> v with ord[cu] < ord[cv] (or inside one component) only records
+// the edge. Otherwise the forward search from cv and the backward search from cu visit only components
+// whose ord lies in [ord[cv], ord[cu]]. Components reached by both searches are on a cycle through the
+// new edge and merge into one. The remaining visited components are reshuffled within the same ord
+// slots, so the cost depends on the affected region, not on n or m.
+public final class IncrementalSCC {
+    public final int n;
+    private final int[] parent, size, ord, next;  // next: circular member list, spliced on union
+    private final int[][] out, in;                 // per root: original endpoints of crossing edges
+    private final int[] outLen, inLen;
+    private final int[] markF, markB;
+    private int epoch, components;
+
+    public IncrementalSCC(int n) {
+        this.n = n;
+        parent = new int[n]; size = new int[n]; ord = new int[n]; next = new int[n];
+        out = new int[n][]; in = new int[n][];
+        outLen = new int[n]; inLen = new int[n];
+        markF = new int[n]; markB = new int[n];
+        for (int v = 0; v < n; v++) { parent[v] = v; size[v] = 1; ord[v] = v; next[v] = v; }
+        components = n;
+    }
+
+    // Seeds the structure with one Tarjan pass over g; later edges go through addEdge.
+    public IncrementalSCC(CsrGraph g) {
+        this(g.n);
+        TarjanSCC t = new TarjanSCC(g);
+        List<List<Integer>> comps = t.runIterative();
+        int C = comps.size();
+        // Tarjan emits sinks first, so component c sits at position C - 1 - c
+        for (int c = 0; c < C; c++) {
+            List<Integer> comp = comps.get(c);
+            int r = comp.get(0);
+            for (int i = 1; i < comp.size(); i++) r = union(r, comp.get(i));
+            ord[r] = C - 1 - c;
+        }
+        for (int u = 0; u < n; u++) {
+            int cu = find(u);
+            for (int i = g.offsets[u], end = g.offsets[u + 1]; i < end; i++) {
+                int v = g.targets[i], cv = find(v);
+                if (cu != cv) { append(out, outLen, cu, v); append(in, inLen, cv, u); }
+            }
+        }
+    }
+
+    // Returns true when the edge closed a cycle and components were merged.
+    public boolean addEdge(int u, int v) {
+        int cu = find(u), cv = find(v);
+        if (cu == cv) return false;
+        append(out, outLen, cu, v);
+        append(in, inLen, cv, u);
+        if (ord[cu] < ord[cv]) return false;
+
+        int lb = ord[cv], ub = ord[cu];
+        int e = nextEpoch();
+        int[] fwd = search(cv, ub, true, markF, e);
+        boolean cycle = markF[cu] == e;
+        int[] bwd = search(cu, lb, false, markB, e);
+
+        // B\M then M then F\M, where M = F ∩ B; they take the ord slots the visited components held
+        int fOnly = 0, merged = 0;
+        int[] slots = new int[fwd.length + bwd.length];
+        int k = 0;
+        for (int c : fwd) { slots[k++] = ord[c]; if (markB[c] == e) merged++; else fOnly++; }
+        for (int c : bwd) if (markF[c] != e) slots[k++] = ord[c];
+        slots = Arrays.copyOf(slots, k);
+        Arrays.sort(slots);
+        sortByOrd(fwd);
+        sortByOrd(bwd);
+
+        int s = 0;
+        for (int c : bwd) if (markF[c] != e) ord[c] = slots[s++];
+        if (cycle) {
+            int[] cyc = new int[merged];
+            int j = 0;
+            for (int c : fwd) if (markB[c] == e) cyc[j++] = c;
+            ord[merge(cyc)] = slots[s];
+        }
+        s = k - fOnly;
+        for (int c : fwd) if (markB[c] != e) ord[c] = slots[s++];
+        return cycle;
+    }
+
+    public int componentCount() { return components; }
+
+    // Representative vertex of v's component; stable until that component merges again.
+    public int component(int v) { return find(v); }
+
+    public boolean sameComponent(int u, int v) { return find(u) == find(v); }
+
+    // Dense component ids in topological order of the condensation (sources first).
+    public int[] compOf() {
+        int[] roots = roots();
+        int[] id = new int[n];
+        for (int i = 0; i < roots.length; i++) id[roots[i]] = i;
+        int[] compOf = new int[n];
+        for (int v = 0; v < n; v++) compOf[v] = id[find(v)];
+        return compOf;
+    }
+
+    // Components indexed like compOf(), vertices ascending.
+    public List<List<Integer>> components() {
+        int[] roots = roots();
+        List<List<Integer>> comps = new ArrayList<>(roots.length);
+        for (int r : roots) {
+            int[] members = new int[size[r]];
+            int j = 0, v = r;
+            do { members[j++] = v; v = next[v]; } while (v != r);
+            Arrays.sort(members);
+            List<Integer> comp = new ArrayList<>(members.length);
+            for (int x : members) comp.add(x);
+            comps.add(comp);
+        }
+        return comps;
+    }
+
+    private int[] roots() {
+        int[] roots = new int[components];
+        int k = 0;
+        for (int v = 0; v < n; v++) if (parent[v] == v) roots[k++] = v;
+        sortByOrd(roots);
+        return roots;
+    }
+
+    // Stamps for markF/markB; on wrap both are cleared so no stale stamp can match a new epoch.
+    private int nextEpoch() {
+        if (++epoch == 0) { Arrays.fill(markF, 0); Arrays.fill(markB, 0); epoch = 1; }
+        return epoch;
+    }
+
+    // Components reachable from start (forward) or reaching it (backward) whose ord stays within bound.
+    private int[] search(int start, int bound, boolean forward, int[] mark, int e) {
+        int[][] adj = forward ? out : in;
+        int[] len = forward ? outLen : inLen;
+        int[] seen = new int[8], stack = new int[8];
+        int cnt = 0, sp = 0;
+        mark[start] = e;
+        seen[cnt++] = start;
+        stack[sp++] = start;
+        while (sp > 0) {
+            int c = stack[--sp];
+            int[] a = adj[c];
+            for (int i = 0, end = len[c]; i < end; i++) {
+                int t = find(a[i]);
+                if (t == c || mark[t] == e) continue;
+                if (forward ? ord[t] > bound : ord[t] < bound) continue;
+                mark[t] = e;
+                if (cnt == seen.length) seen = Arrays.copyOf(seen, cnt * 2);
+                seen[cnt++] = t;
+                if (sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+                stack[sp++] = t;
+            }
+        }
+        return Arrays.copyOf(seen, cnt);
+    }
+
+    // Unions the given roots and rebuilds the merged adjacency without the edges that became internal.
+    private int merge(int[] roots) {
+        int r = roots[0];
+        for (int i = 1; i < roots.length; i++) r = union(r, roots[i]);
+        rebuild(out, outLen, roots, r);
+        rebuild(in, inLen, roots, r);
+        return r;
+    }
+
+    private void rebuild(int[][] adj, int[] len, int[] roots, int r) {
+        int total = 0;
+        for (int c : roots) total += len[c];
+        int[] merged = new int[Math.max(4, total)];
+        int k = 0;
+        for (int c : roots) {
+            int[] a = adj[c];
+            for (int i = 0; i < len[c]; i++) if (find(a[i]) != r) merged[k++] = a[i];
+            adj[c] = null; len[c] = 0;
+        }
+        adj[r] = merged;
+        len[r] = k;
+    }
+
+    private int union(int a, int b) {
+        a = find(a); b = find(b);
+        if (a == b) return a;
+        if (size[a] < size[b]) { int t = a; a = b; b = t; }
+        parent[b] = a;
+        size[a] += size[b];
+        int t = next[a]; next[a] = next[b]; next[b] = t;
+        components--;
+        return a;
+    }
+
+    private int find(int v) {
+        while (parent[v] != v) { parent[v] = parent[parent[v]]; v = parent[v]; }
+        return v;
+    }
+
+    private void sortByOrd(int[] cs) {
+        long[] keyed = new long[cs.length];
+        for (int i = 0; i < cs.length; i++) keyed[i] = (long) ord[cs[i]] << 32 | cs[i];
+        Arrays.sort(keyed);
+        for (int i = 0; i < cs.length; i++) cs[i] = (int) keyed[i];
+    }
+
+    private static void append(int[][] adj, int[] len, int c, int x) {
+        int[] a = adj[c];
+        if (a == null) adj[c] = a = new int[4];
+        else if (len[c] == a.length) adj[c] = a = Arrays.copyOf(a, a.length * 2);
+        a[len[c]++] = x;
+    }
+}
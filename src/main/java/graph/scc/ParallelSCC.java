@@ -0,0 +1,275 @@
+package graph.scc;
+
+import graph.CsrGraph;
+import graph.Parallel;
+import graph.Parallel.IntBuffer;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// Forward-backward SCC decomposition with trimming (Fleischer/Hendrickson/Pinar, Hong et al.).
+// Every partition is tagged with its own color; a pivot's forward and backward reachable sets are
+// found by parallel level-synchronous BFS that recolors vertices with CAS, so FW∩BW is one SCC and
+// FW\BW, BW\FW and the rest become three independent partitions. Partitions below the threshold go
+// to a sequential Tarjan restricted to that color. Components are numbered by their smallest vertex
+// and list vertices in ascending order, so the output does not depend on scheduling.
+public class ParallelSCC {
+    private static final int DONE = -1;
+    private static final int GRAIN = 1024;
+
+    private final CsrGraph g;
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private CsrGraph gt;
+    private AtomicIntegerArray color, degIn, degOut;
+    private final AtomicInteger nextColor = new AtomicInteger();
+    private int[] label, index, low, cursor;
+    private boolean[] onStack;
+    private int[] compOf;
+    private List<List<Integer>> components;
+
+    public ParallelSCC(CsrGraph g) {
+        this(g, ForkJoinPool.commonPool(), 1 << 14);
+    }
+
+    public ParallelSCC(CsrGraph g, ForkJoinPool pool, int threshold) {
+        this.g = g;
+        this.pool = pool;
+        this.threshold = Math.max(2, threshold);
+    }
+
+    public List<List<Integer>> run() {
+        int n = g.n;
+        if (n < threshold) {
+            TarjanSCC t = new TarjanSCC(g);
+            t.runIterative();
+            canonicalize(t.compOf());
+            return components;
+        }
+        gt = g.transpose();
+        color = new AtomicIntegerArray(n);
+        degIn = new AtomicIntegerArray(n);
+        degOut = new AtomicIntegerArray(n);
+        label = new int[n];
+        index = new int[n]; low = new int[n]; cursor = new int[n];
+        onStack = new boolean[n];
+        Arrays.fill(index, -1);
+        int[] all = new int[n];
+        for (int v = 0; v < n; v++) all[v] = v;
+        nextColor.set(1);
+        pool.invoke(new Partition(all, n, 0));
+        canonicalize(label);
+        gt = null; color = degIn = degOut = null;
+        label = index = low = cursor = null; onStack = null;
+        return components;
+    }
+
+    public int[] compOf() {
+        if (compOf == null) throw new IllegalStateException("run() has not been called");
+        return compOf;
+    }
+
+    private final class Partition extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        final int[] verts; final int size; final int c;
+        Partition(int[] verts, int size, int c) { this.verts = verts; this.size = size; this.c = c; }
+
+        @Override
+        protected void compute() {
+            if (size == 0) return;
+            if (size < threshold) { tarjan(verts, size, c); return; }
+
+            int[] rest = trim(verts, size, c);
+            int restSize = rest.length;
+            if (restSize == 0) return;
+            if (restSize < threshold) { tarjan(rest, restSize, c); return; }
+
+            int pivot = rest[0];
+            long best = -1;
+            for (int i = 0; i < restSize; i++) {
+                int v = rest[i];
+                long score = (long) g.outDegree(v) * gt.outDegree(v);
+                if (score > best) { best = score; pivot = v; }
+            }
+
+            int fw = nextColor.getAndIncrement(), bw = nextColor.getAndIncrement(), scc = nextColor.getAndIncrement();
+            color.set(pivot, fw);
+            int[] fwSet = new int[restSize];
+            int fwSize = bfs(g, pivot, fwSet, c, fw, -1, -1);
+            color.set(pivot, scc);
+            int[] bwSet = new int[restSize];
+            int bwSize = bfs(gt, pivot, bwSet, c, bw, fw, scc);
+
+            for (int i = 0; i < bwSize; i++) {
+                int v = bwSet[i];
+                if (color.get(v) == scc) { label[v] = pivot; color.set(v, DONE); }
+            }
+            int[] fwOnly = filter(fwSet, fwSize, fw);
+            int[] bwOnly = filter(bwSet, bwSize, bw);
+            int[] other = filter(rest, restSize, c);
+            invokeAll(new Partition(fwOnly, fwOnly.length, fw),
+                    new Partition(bwOnly, bwOnly.length, bw),
+                    new Partition(other, other.length, c));
+        }
+    }
+
+    // Peels off vertices with no in- or out-edge inside the partition as singleton SCCs, repeatedly.
+    private int[] trim(int[] verts, int size, int c) {
+        Parallel.forRange(0, size, GRAIN, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                int v = verts[i];
+                degOut.set(v, countSameColor(g, v, c));
+                degIn.set(v, countSameColor(gt, v, c));
+            }
+        });
+        int[] trimmed = new int[size];
+        AtomicInteger tail = new AtomicInteger();
+        Parallel.forRange(0, size, GRAIN, (lo, hi) -> {
+            IntBuffer out = new IntBuffer();
+            for (int i = lo; i < hi; i++) {
+                int v = verts[i];
+                if ((degIn.get(v) == 0 || degOut.get(v) == 0) && color.compareAndSet(v, c, DONE)) out.add(v);
+            }
+            out.flushTo(trimmed, tail);
+        });
+        int head = 0;
+        while (head < tail.get()) {
+            int lo0 = head, hi0 = tail.get();
+            Parallel.forRange(lo0, hi0, GRAIN, (lo, hi) -> {
+                IntBuffer out = new IntBuffer();
+                for (int i = lo; i < hi; i++) {
+                    int v = trimmed[i];
+                    label[v] = v;
+                    peel(g, v, c, degIn, out);
+                    peel(gt, v, c, degOut, out);
+                }
+                out.flushTo(trimmed, tail);
+            });
+            head = hi0;
+        }
+        return filter(verts, size, c);
+    }
+
+    private void peel(CsrGraph graph, int v, int c, AtomicIntegerArray deg, IntBuffer out) {
+        int[] offsets = graph.offsets, targets = graph.targets;
+        for (int i = offsets[v], end = offsets[v + 1]; i < end; i++) {
+            int w = targets[i];
+            if (color.get(w) == c && deg.decrementAndGet(w) == 0 && color.compareAndSet(w, c, DONE)) out.add(w);
+        }
+    }
+
+    private int countSameColor(CsrGraph graph, int v, int c) {
+        int[] offsets = graph.offsets, targets = graph.targets;
+        int cnt = 0;
+        for (int i = offsets[v], end = offsets[v + 1]; i < end; i++)
+            if (color.get(targets[i]) == c) cnt++;
+        return cnt;
+    }
+
+    // Level-synchronous BFS from an already recolored root. A neighbor is claimed by CAS from1->to1
+    // (or from2->to2). Every claimed vertex is appended once, so set[0..return) is the reached set
+    // and each BFS level is a contiguous segment of it.
+    private int bfs(CsrGraph graph, int root, int[] set, int from1, int to1, int from2, int to2) {
+        int[] offsets = graph.offsets, targets = graph.targets;
+        set[0] = root;
+        AtomicInteger tail = new AtomicInteger(1);
+        int head = 0;
+        while (head < tail.get()) {
+            int lo0 = head, hi0 = tail.get();
+            Parallel.forRange(lo0, hi0, GRAIN, (lo, hi) -> {
+                IntBuffer out = new IntBuffer();
+                for (int i = lo; i < hi; i++) {
+                    int u = set[i];
+                    for (int k = offsets[u], end = offsets[u + 1]; k < end; k++) {
+                        int w = targets[k];
+                        int cw = color.get(w);
+                        if (cw == from1) { if (color.compareAndSet(w, from1, to1)) out.add(w); }
+                        else if (from2 != -1 && cw == from2) { if (color.compareAndSet(w, from2, to2)) out.add(w); }
+                    }
+                }
+                out.flushTo(set, tail);
+            });
+            head = hi0;
+        }
+        return tail.get();
+    }
+
+    private int[] filter(int[] verts, int size, int c) {
+        int[] out = new int[size];
+        AtomicInteger tail = new AtomicInteger();
+        Parallel.forRange(0, size, GRAIN, (lo, hi) -> {
+            IntBuffer buf = new IntBuffer();
+            for (int i = lo; i < hi; i++) if (color.get(verts[i]) == c) buf.add(verts[i]);
+            buf.flushTo(out, tail);
+        });
+        return Arrays.copyOf(out, tail.get());
+    }
+
+    // Iterative Tarjan over the vertices of one color; partitions never split an SCC, so edges
+    // leaving the color can be ignored. The shared per-vertex arrays are disjoint between partitions.
+    private void tarjan(int[] verts, int size, int c) {
+        int[] offsets = g.offsets, targets = g.targets;
+        int[] stack = new int[size], callStack = new int[size];
+        int time = 0, sp = 0;
+        for (int s = 0; s < size; s++) {
+            int root = verts[s];
+            if (index[root] != -1) continue;
+            index[root] = low[root] = time++;
+            stack[sp++] = root; onStack[root] = true;
+            cursor[root] = offsets[root];
+            int csp = 0;
+            callStack[csp++] = root;
+            while (csp > 0) {
+                int v = callStack[csp - 1];
+                int i = cursor[v], end = offsets[v + 1];
+                boolean descended = false;
+                while (i < end) {
+                    int to = targets[i++];
+                    if (color.get(to) != c) continue;
+                    if (index[to] == -1) {
+                        cursor[v] = i;
+                        index[to] = low[to] = time++;
+                        stack[sp++] = to; onStack[to] = true;
+                        cursor[to] = offsets[to];
+                        callStack[csp++] = to;
+                        descended = true;
+                        break;
+                    } else if (onStack[to] && index[to] < low[v]) {
+                        low[v] = index[to];
+                    }
+                }
+                if (descended) continue;
+                cursor[v] = end;
+                csp--;
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--sp];
+                        onStack[w] = false;
+                        label[w] = v;
+                    } while (w != v);
+                }
+                if (csp > 0) {
+                    int parent = callStack[csp - 1];
+                    if (low[v] < low[parent]) low[parent] = low[v];
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) color.set(verts[i], DONE);
+    }
+
+    private void canonicalize(int[] rawLabel) {
+        int n = g.n;
+        int[] id = new int[n];
+        Arrays.fill(id, -1);
+        compOf = new int[n];
+        components = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            int r = rawLabel[v];
+            if (id[r] == -1) { id[r] = components.size(); components.add(new ArrayList<>()); }
+            compOf[v] = id[r];
+            components.get(id[r]).add(v);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package graph.scc;
+
+import graph.CsrGraph;
+import graph.Parallel;
+import graph.topo.ParallelTopologicalSort;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+// "Can u reach v?" over the condensation of g (GRAIL-style). Per component it keeps its Tarjan id,
+// its topological level and k post-order intervals from k randomized DFS traversals of the DAG, plus
+// the pre/post numbers of the first traversal's spanning tree. For different components cu, cv:
+//   cv >= cu (Tarjan finalizes what cu reaches first), level[cu] >= level[cv], or any interval of cv
+//   not nested in cu's  -> false;   cv a tree descendant of cu  -> true.
+// Only pairs that pass every filter fall back to a DFS from cu pruned by the same tests, over the
+// condensation's offsets and targets (its weights are dropped). Memory is 2k + 4 ints per component,
+// one int per condensation edge, plus compOf; the k traversals and the level pass run in parallel.
+// Queries are thread-safe.
+public final class ReachabilityIndex {
+    public final int components;
+    private final int k;
+    private final int[] compOf, level, labels, pre, post;
+    private final int[] offsets, targets;  // condensation adjacency for the fallback DFS
+    private final LongAdder fallbacks = new LongAdder();
+    private final ThreadLocal<Scratch> scratch;
+
+    public ReachabilityIndex(CsrGraph g) {
+        this(g, 3, 42L, ForkJoinPool.commonPool());
+    }
+
+    public ReachabilityIndex(CsrGraph g, int k, long seed, ForkJoinPool pool) {
+        if (k < 1) throw new IllegalArgumentException("k must be >= 1");
+        this.k = k;
+        TarjanSCC.Fused f = new TarjanSCC(g).runFused(null);
+        compOf = f.compOf;
+        int C = components = f.components.size();
+        CsrGraph dag = Condensation.build(g, compOf, C).dag;
+        offsets = dag.offsets;
+        targets = dag.targets;
+        level = new ParallelTopologicalSort(dag, pool).run().level;
+        labels = new int[2 * k * C];
+        pre = new int[C];
+        post = new int[C];
+        pool.invoke(ForkJoinTask.adapt(() -> Parallel.forRange(0, k, 1, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) label(i, new SplittableRandom(seed + i));
+        })));
+        scratch = ThreadLocal.withInitial(() -> new Scratch(C));
+    }
+
+    public boolean reaches(int u, int v) {
+        int cu = compOf[u], cv = compOf[v];
+        if (cu == cv) return true;
+        if (excluded(cu, cv)) return false;
+        if (descendant(cu, cv)) return true;
+        fallbacks.increment();
+        return search(cu, cv);
+    }
+
+    public int component(int v) { return compOf[v]; }
+
+    // Queries that needed the pruned DFS; should stay a small fraction of all queries.
+    public long fallbackSearches() { return fallbacks.sum(); }
+
+    public long indexBytes() {
+        return 4L * (labels.length + level.length + pre.length + post.length + compOf.length + offsets.length + targets.length);
+    }
+
+    private boolean excluded(int cu, int cv) {
+        if (cv >= cu || level[cu] >= level[cv]) return true;
+        for (int i = 0, a = 2 * k * cu, b = 2 * k * cv; i < k; i++, a += 2, b += 2)
+            if (labels[b] < labels[a] || labels[b + 1] > labels[a + 1]) return true;
+        return false;
+    }
+
+    private boolean descendant(int cu, int cv) {
+        return pre[cu] <= pre[cv] && post[cv] <= post[cu];
+    }
+
+    private boolean search(int cu, int cv) {
+        Scratch s = scratch.get();
+        int e = s.next();
+        int sp = 0;
+        s.stack[sp++] = cu;
+        s.mark[cu] = e;
+        while (sp > 0) {
+            int c = s.stack[--sp];
+            for (int i = offsets[c], end = offsets[c + 1]; i < end; i++) {
+                int w = targets[i];
+                if (w == cv || descendant(w, cv)) return true;
+                if (s.mark[w] == e || excluded(w, cv)) continue;
+                s.mark[w] = e;
+                s.stack[sp++] = w;
+            }
+        }
+        return false;
+    }
+
+    // Traversal i: roots in random order, each vertex's children from a random rotation. A component's
+    // interval is [min rank over everything it reaches in this traversal, its own post-order rank].
+    private void label(int i, SplittableRandom rnd) {
+        int C = components;
+        int[] roots = new int[C];
+        for (int c = 0; c < C; c++) roots[c] = c;
+        for (int c = C - 1; c > 0; c--) { int j = rnd.nextInt(c + 1), t = roots[c]; roots[c] = roots[j]; roots[j] = t; }
+        int[] rank = new int[C], low = new int[C], start = new int[C], step = new int[C], stack = new int[C];
+        Arrays.fill(start, -1);  // -1: not entered yet
+        int next = 0, preNext = 0;
+        boolean tree = i == 0;
+        for (int r : roots) {
+            if (start[r] != -1) continue;
+            int sp = 0;
+            stack[sp++] = r;
+            enter(r, rnd, offsets, start, step, low);
+            if (tree) pre[r] = preNext++;
+            while (sp > 0) {
+                int c = stack[sp - 1], deg = offsets[c + 1] - offsets[c];
+                boolean descended = false;
+                while (step[c] < deg) {
+                    int w = targets[offsets[c] + (start[c] + step[c]++) % deg];
+                    if (start[w] == -1) {
+                        enter(w, rnd, offsets, start, step, low);
+                        if (tree) pre[w] = preNext++;
+                        stack[sp++] = w;
+                        descended = true;
+                        break;
+                    }
+                    if (low[w] < low[c]) low[c] = low[w];  // w is finished: a DAG has no back edges
+                }
+                if (descended) continue;
+                sp--;
+                rank[c] = next++;
+                if (rank[c] < low[c]) low[c] = rank[c];
+                if (tree) post[c] = rank[c];
+                if (sp > 0) {
+                    int parent = stack[sp - 1];
+                    if (low[c] < low[parent]) low[parent] = low[c];
+                }
+            }
+        }
+        for (int c = 0, a = 2 * i; c < C; c++, a += 2 * k) { labels[a] = low[c]; labels[a + 1] = rank[c]; }
+    }
+
+    private static void enter(int c, SplittableRandom rnd, int[] offsets, int[] start, int[] step, int[] low) {
+        int deg = offsets[c + 1] - offsets[c];
+        start[c] = deg > 1 ? rnd.nextInt(deg) : 0;
+        step[c] = 0;
+        low[c] = Integer.MAX_VALUE;
+    }
+
+    private static final class Scratch {
+        final int[] mark, stack;
+        int epoch;
+
+        Scratch(int C) { mark = new int[C]; stack = new int[C]; }
+
+        int next() {
+            if (++epoch == 0) { Arrays.fill(mark, 0); epoch = 1; }
+            return epoch;
+        }
+    }
+}
@@ -1,33 +1,54 @@
 package graph.scc;
 
+import graph.CsrGraph;
+import graph.EdgeList;
+import graph.OffHeapGraph;
+import graph.metrics.Counters;
+
+import java.lang.foreign.*;
 import java.util.*;
 
+import static graph.OffHeapGraph.INT;
+import static graph.OffHeapGraph.LONG;
+
 public class TarjanSCC {
     private int n;
-    private List<List<Integer>> adj;
+    private EdgeList pending;
+    private CsrGraph g;
     private int time;
     private int[] index, lowlink;
     private boolean[] onStack;
     private Deque<Integer> stack;
     private List<List<Integer>> components;
+    private int[] compOf;
+    private int[] members, memberStart;
 
     public TarjanSCC(int n) {
         this.n = n;
-        adj = new ArrayList<>();
-        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
+        pending = new EdgeList();
+    }
+
+    public TarjanSCC(CsrGraph g) {
+        this.n = g.n;
+        this.g = g;
     }
 
     public void addEdge(int u, int v) {
-        adj.get(u).add(v);
+        if (pending == null) throw new IllegalStateException("graph was supplied as an immutable CsrGraph");
+        pending.add(u, v, 1);
+        g = null;
     }
 
     public List<List<Integer>> run() {
+        if (g == null) g = pending.toCsr(n);
         time = 0;
         index = new int[n];
         lowlink = new int[n];
         onStack = new boolean[n];
         stack = new ArrayDeque<>();
         components = new ArrayList<>();
+        compOf = null;
+        members = memberStart = null;
 
         Arrays.fill(index, -1);
         for (int v = 0; v < n; v++) {
@@ -37,12 +58,257 @@ public class TarjanSCC {
         return components;
     }
 
+    // Explicit-stack variant of run(): same components in the same order, but no recursion
+    // (safe on 10^6-long chains with the default thread stack) and primitive int[] stacks.
+    // cursor[v] is the next CSR edge slot of v still to be explored.
+    public List<List<Integer>> runIterative() {
+        return runIterative(null);
+    }
+
+    // counters (may be null) receives dfsCalls (vertices entered), edgesScanned and the deepest call stack.
+    public List<List<Integer>> runIterative(Counters counters) {
+        if (g == null) g = pending.toCsr(n);
+        int[] offsets = g.offsets, targets = g.targets;
+        int[] index = new int[n], low = new int[n];
+        int[] stack = new int[n], callStack = new int[n], cursor = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] compOf = new int[n];
+        int[] members = new int[n], memberStart = new int[16];
+        List<List<Integer>> components = new ArrayList<>();
+        Arrays.fill(index, -1);
+        int time = 0, sp = 0, maxDepth = 0;
+        long scanned = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (index[s] != -1) continue;
+            index[s] = low[s] = time++;
+            stack[sp++] = s; onStack[s] = true;
+            cursor[s] = offsets[s];
+            int csp = 0;
+            callStack[csp++] = s;
+            if (csp > maxDepth) maxDepth = csp;
+
+            while (csp > 0) {
+                int v = callStack[csp - 1];
+                int i = cursor[v], end = offsets[v + 1];
+                boolean descended = false;
+                while (i < end) {
+                    int to = targets[i++];
+                    scanned++;
+                    if (index[to] == -1) {
+                        cursor[v] = i;
+                        index[to] = low[to] = time++;
+                        stack[sp++] = to; onStack[to] = true;
+                        cursor[to] = offsets[to];
+                        callStack[csp++] = to;
+                        if (csp > maxDepth) maxDepth = csp;
+                        descended = true;
+                        break;
+                    } else if (onStack[to] && index[to] < low[v]) {
+                        low[v] = index[to];
+                    }
+                }
+                if (descended) continue;
+                cursor[v] = end;
+                csp--;
+
+                if (low[v] == index[v]) {
+                    int cid = components.size();
+                    int start = sp;
+                    do start--; while (stack[start] != v);
+                    List<Integer> comp = new ArrayList<>(sp - start);
+                    int mp = memberStart[cid];
+                    for (int k = sp - 1; k >= start; k--) {
+                        int w = stack[k];
+                        onStack[w] = false;
+                        compOf[w] = cid;
+                        comp.add(w);
+                        members[mp++] = w;
+                    }
+                    sp = start;
+                    components.add(comp);
+                    if (cid + 2 > memberStart.length) memberStart = Arrays.copyOf(memberStart, memberStart.length * 2);
+                    memberStart[cid + 1] = mp;
+                }
+                if (csp > 0) {
+                    int parent = callStack[csp - 1];
+                    if (low[v] < low[parent]) low[parent] = low[v];
+                }
+            }
+        }
+        this.components = components;
+        this.compOf = compOf;
+        this.members = members;
+        this.memberStart = Arrays.copyOf(memberStart, components.size() + 1);
+        if (counters != null) {
+            counters.dfsCalls += time;
+            counters.edgesScanned += scanned;
+            counters.maxStackDepth = Math.max(counters.maxStackDepth, maxDepth);
+        }
+        return components;
+    }
+
+    // runIterative plus the condensation's topological order, from the same traversal. Tarjan
+    // finalizes a component only after every component it reaches, so the emission ids are already a
+    // reverse topological order: topo is C-1, ..., 1, 0, with no condensation, indegrees or queue.
+    public static final class Fused {
+        public final List<List<Integer>> components;
+        public final int[] compOf, topo;
+        public final int[] members, memberStart;  // component c is members[memberStart[c] .. memberStart[c + 1])
+        private final CsrGraph g;
+
+        Fused(CsrGraph g, List<List<Integer>> components, int[] compOf, int[] members, int[] memberStart) {
+            this.g = g;
+            this.components = components; this.compOf = compOf;
+            this.members = members; this.memberStart = memberStart;
+            int C = components.size();
+            topo = new int[C];
+            for (int k = 0; k < C; k++) topo[k] = C - 1 - k;
+        }
+
+        // The condensation shortest/longest passes from component s, folded over the members' original
+        // out-edges in topo order: no condensation CSR is built. Parallel edges to one component collapse
+        // to their minimum weight on the fly, as in Condensation, so dist, parent and counters equal
+        // DAGShortestPaths over its dag with this topo. This runs after the traversal rather than inside
+        // it, because a forward distance needs every predecessor component first and Tarjan finalizes
+        // successors first.
+        public Paths shortest(int s, Counters counters) { return relax(s, false, counters); }
+
+        public Paths longest(int s, Counters counters) { return relax(s, true, counters); }
+
+        private Paths relax(int s, boolean longest, Counters counters) {
+            int[] offsets = g.offsets, targets = g.targets, weights = g.weights;
+            int C = components.size(), sentinel = longest ? Integer.MIN_VALUE : 1_000_000_000;  // INF as in DAGShortestPaths
+            int[] dist = new int[C], parent = new int[C], mark = new int[C], minW = new int[C];
+            Arrays.fill(dist, sentinel);
+            Arrays.fill(parent, -1);
+            Arrays.fill(mark, -1);
+            dist[s] = 0;
+            long relax = 0, upd = 0;
+            // components below s in topo order (ids above s) are unreachable from it
+            for (int cu = s; cu >= 0; cu--) {
+                int du = dist[cu];
+                if (du == sentinel) continue;
+                int mStart = memberStart[cu], mEnd = memberStart[cu + 1];
+                for (int k = mStart; k < mEnd; k++) {
+                    int u = members[k];
+                    for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                        int cv = compOf[targets[i]];
+                        if (cv == cu) continue;
+                        if (mark[cv] != cu) { mark[cv] = cu; minW[cv] = weights[i]; }
+                        else if (weights[i] < minW[cv]) minW[cv] = weights[i];
+                    }
+                }
+                for (int k = mStart; k < mEnd; k++) {
+                    int u = members[k];
+                    for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                        int cv = compOf[targets[i]];
+                        if (cv == cu || mark[cv] != cu) continue;
+                        mark[cv] = -1;  // one relaxation per component pair
+                        relax++;
+                        int nd = du + minW[cv];
+                        if (longest ? nd > dist[cv] : nd < dist[cv]) { dist[cv] = nd; parent[cv] = cu; upd++; }
+                    }
+                }
+            }
+            if (counters != null) { counters.relaxations += relax; counters.updates += upd; }
+            return new Paths(dist, parent);
+        }
+    }
+
+    // Component-indexed distances and parents from Fused.shortest/longest; parent -1 where none.
+    public static final class Paths {
+        public final int[] dist, parent;
+
+        Paths(int[] dist, int[] parent) { this.dist = dist; this.parent = parent; }
+    }
+
+    public Fused runFused(Counters counters) {
+        runIterative(counters);
+        return new Fused(g, components, compOf, members, memberStart);
+    }
+
+    // runIterative over an OffHeapGraph: compOf (n ints, heap or off-heap) receives the same component
+    // ids and the component count is returned. index, low, both stacks and the cursors are allocated
+    // in work, or on the heap when work is null. onStack is implied: index set, compOf still -1.
+    public static int runIterative(OffHeapGraph g, MemorySegment compOf, Arena work) {
+        int n = g.n;
+        MemorySegment index = OffHeapGraph.ints(work, n), low = OffHeapGraph.ints(work, n);
+        MemorySegment stack = OffHeapGraph.ints(work, n), callStack = OffHeapGraph.ints(work, n);
+        MemorySegment cursor = OffHeapGraph.longs(work, n);
+        OffHeapGraph.fill(index, -1);
+        OffHeapGraph.fill(compOf, -1);
+        int time = 0, sp = 0, count = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (index.getAtIndex(INT, s) != -1) continue;
+            index.setAtIndex(INT, s, time); low.setAtIndex(INT, s, time++);
+            stack.setAtIndex(INT, sp++, s);
+            cursor.setAtIndex(LONG, s, g.begin(s));
+            int csp = 0;
+            callStack.setAtIndex(INT, csp++, s);
+
+            while (csp > 0) {
+                int v = callStack.getAtIndex(INT, csp - 1);
+                long i = cursor.getAtIndex(LONG, v), end = g.end(v);
+                int lowV = low.getAtIndex(INT, v);
+                boolean descended = false;
+                while (i < end) {
+                    int to = g.target(i++);
+                    int it = index.getAtIndex(INT, to);
+                    if (it == -1) {
+                        cursor.setAtIndex(LONG, v, i);
+                        index.setAtIndex(INT, to, time); low.setAtIndex(INT, to, time++);
+                        stack.setAtIndex(INT, sp++, to);
+                        cursor.setAtIndex(LONG, to, g.begin(to));
+                        callStack.setAtIndex(INT, csp++, to);
+                        descended = true;
+                        break;
+                    } else if (it < lowV && compOf.getAtIndex(INT, to) == -1) {
+                        lowV = it;
+                    }
+                }
+                low.setAtIndex(INT, v, lowV);
+                if (descended) continue;
+                cursor.setAtIndex(LONG, v, end);
+                csp--;
+
+                if (lowV == index.getAtIndex(INT, v)) {
+                    int w;
+                    do {
+                        w = stack.getAtIndex(INT, --sp);
+                        compOf.setAtIndex(INT, w, count);
+                    } while (w != v);
+                    count++;
+                }
+                if (csp > 0) {
+                    int parent = callStack.getAtIndex(INT, csp - 1);
+                    if (lowV < low.getAtIndex(INT, parent)) low.setAtIndex(INT, parent, lowV);
+                }
+            }
+        }
+        return count;
+    }
+
+    // Component id per vertex, indexed like the list returned by the last run.
+    public int[] compOf() {
+        if (components == null) throw new IllegalStateException("run() or runIterative() has not been called");
+        if (compOf == null) {
+            compOf = new int[n];
+            for (int cid = 0; cid < components.size(); cid++)
+                for (int v : components.get(cid)) compOf[v] = cid;
+        }
+        return compOf;
+    }
+
     private void dfs(int v) {
         index[v] = lowlink[v] = time++;
         stack.push(v);
         onStack[v] = true;
 
-        for (int to : adj.get(v)) {
+        int[] offsets = g.offsets, targets = g.targets;
+        for (int i = offsets[v], end = offsets[v + 1]; i < end; i++) {
+            int to = targets[i];
             if (index[to] == -1) {
                 dfs(to);
                 lowlink[v] = Math.min(lowlink[v], lowlink[to]);
@@ -0,0 +1,94 @@
+package graph.scc;
+
+import graph.CsrGraph;
+import graph.Parallel;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+// Transitive reduction of a DAG (typically Condensation.dag): edge u -> v is dropped when v is also
+// reachable through another out-neighbour of u; repeated u -> v edges keep only their first slot.
+// The result is reachability-only: it has the same reachability but not the same path weights, so
+// shortest/longest passes must keep using the full DAG. Kept edges carry their original weight.
+// Targets are handled in chunks of chunkBits consecutive topo positions. For one chunk, a reverse
+// topo sweep gives every vertex the bitset of chunk vertices it strictly reaches; edge u -> v with v
+// in the chunk is transitive iff some out-neighbour of u strictly reaches v. Chunks are independent
+// and run in parallel. Each thread that runs chunks allocates one n * chunkBits / 8 byte bitset
+// buffer and reuses it for every chunk it takes, so peak scratch is about
+// (pool parallelism + 1) * n * chunkBits / 8 bytes, e.g. 8 threads, n = 1M, 256 bits: ~288 MB.
+// Lower chunkBits or use a smaller pool to trade time for memory.
+public final class TransitiveReduction {
+    public final CsrGraph reduced;
+    public final int removed;
+
+    private TransitiveReduction(CsrGraph reduced, int removed) {
+        this.reduced = reduced;
+        this.removed = removed;
+    }
+
+    public static TransitiveReduction of(CsrGraph dag, int[] topo) {
+        return of(dag, topo, 256, ForkJoinPool.commonPool());
+    }
+
+    public static TransitiveReduction of(CsrGraph dag, int[] topo, int chunkBits, ForkJoinPool pool) {
+        int n = dag.n;
+        if (chunkBits < 64 || chunkBits % 64 != 0) throw new IllegalArgumentException("chunkBits must be a positive multiple of 64");
+        if (topo.length != n) throw new IllegalArgumentException("topo must list every vertex");
+        int[] offsets = dag.offsets, targets = dag.targets;
+        int[] pos = new int[n];
+        for (int p = 0; p < n; p++) pos[topo[p]] = p;
+        for (int u = 0; u < n; u++)
+            for (int i = offsets[u]; i < offsets[u + 1]; i++)
+                if (pos[targets[i]] <= pos[u]) throw new IllegalArgumentException("topo is not a topological order: " + u + "->" + targets[i]);
+
+        boolean[] drop = new boolean[dag.m];
+        int chunks = (n + chunkBits - 1) / chunkBits;
+        ThreadLocal<long[]> desc = ThreadLocal.withInitial(() -> new long[Math.multiplyExact(n, chunkBits >>> 6)]);
+        pool.invoke(ForkJoinTask.adapt(() -> Parallel.forRange(0, chunks, 1, (lo, hi) -> {
+            long[] buf = desc.get();
+            for (int c = lo; c < hi; c++) reduceChunk(dag, topo, pos, c * chunkBits, Math.min(n, (c + 1) * chunkBits), drop, buf);
+        })));
+
+        int[] offs = new int[n + 1];
+        int kept = 0;
+        for (int i = 0; i < dag.m; i++) if (!drop[i]) kept++;
+        int[] ts = new int[kept], ws = new int[kept];
+        int k = 0;
+        for (int u = 0; u < n; u++) {
+            offs[u] = k;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++)
+                if (!drop[i]) { ts[k] = targets[i]; ws[k++] = dag.weights[i]; }
+        }
+        offs[n] = k;
+        return new TransitiveReduction(new CsrGraph(n, offs, ts, ws), dag.m - kept);
+    }
+
+    // Marks drop[i] for every edge slot i whose target's topo position is in [lo, hi). Each slot
+    // belongs to exactly one chunk, so tasks never write the same entry. desc is the calling thread's
+    // buffer; only its first hi * W longs are used, and they are cleared here.
+    private static void reduceChunk(CsrGraph dag, int[] topo, int[] pos, int lo, int hi, boolean[] drop, long[] desc) {
+        int[] offsets = dag.offsets, targets = dag.targets;
+        int W = (hi - lo + 63) >>> 6;
+        Arrays.fill(desc, 0, hi * W, 0);  // desc[p * W ..]: chunk vertices strictly reachable from topo[p]
+        long[] via = new long[W];
+        for (int p = hi - 1; p >= 0; p--) {
+            int u = topo[p], d = p * W;
+            Arrays.fill(via, 0);
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int q = pos[targets[i]];
+                if (q >= hi) continue;
+                for (int w = 0, b = q * W; w < W; w++) via[w] |= desc[b + w];
+            }
+            // via: chunk vertices reachable through some out-neighbour by a path of length >= 2
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int q = pos[targets[i]];
+                if (q < lo || q >= hi) continue;
+                int bit = q - lo;
+                long m = 1L << bit;
+                if ((via[bit >>> 6] & m) != 0 || (desc[d + (bit >>> 6)] & m) != 0) drop[i] = true;  // transitive, or a repeat
+                desc[d + (bit >>> 6)] |= m;
+            }
+            for (int w = 0; w < W; w++) desc[d + w] |= via[w];
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package graph.topo;
+
+import graph.CsrGraph;
+
+import java.util.*;
+
+// Topological order maintained under edge insertions (Pearce-Kelly). ord[v] is v's position and
+// order[p] is the vertex at position p. An edge x -> y that already points forward costs O(1).
+// Otherwise only the window [ord[y], ord[x]] is touched: a forward search from y bounded by ord[x]
+// either reaches x (cycle: the edge is rejected, the order is unchanged, lastCycle() has the path),
+// or the backward search from x bounded by ord[y] finishes the affected region. The two sets are then
+// re-laid into the positions they already held, backward set first.
+public class DynamicTopologicalOrder {
+    public final int n;
+    private final int[] ord, order;
+    private final int[][] out, in;
+    private final int[] outLen, inLen;
+    private final int[] mark, from;
+    private int epoch;
+    private long edges;
+    private int[] lastCycle = new int[0];
+
+    public DynamicTopologicalOrder(int n) {
+        this.n = n;
+        ord = new int[n]; order = new int[n];
+        out = new int[n][]; in = new int[n][];
+        outLen = new int[n]; inLen = new int[n];
+        mark = new int[n]; from = new int[n];
+        for (int v = 0; v < n; v++) { ord[v] = v; order[v] = v; }
+    }
+
+    // Starts from kahnSort(g); g must be acyclic.
+    public DynamicTopologicalOrder(CsrGraph g) {
+        this(g.n);
+        int[] topo = TopologicalSort.kahnSort(g);
+        if (topo.length != n) throw new IllegalArgumentException("graph has a cycle");
+        for (int p = 0; p < n; p++) { order[p] = topo[p]; ord[topo[p]] = p; }
+        for (int u = 0; u < n; u++)
+            for (int i = g.offsets[u], end = g.offsets[u + 1]; i < end; i++) link(u, g.targets[i]);
+    }
+
+    // Adds x -> y and returns true, or returns false without adding it if it would close a cycle.
+    public boolean insertEdge(int x, int y) {
+        if (x == y) { lastCycle = new int[]{x, x}; return false; }
+        int lb = ord[y], ub = ord[x];
+        if (lb > ub) { link(x, y); return true; }
+
+        int e = nextEpoch();
+        int[] fwd = search(y, ub, true, e);
+        if (mark[x] == e) {
+            int len = 1;
+            for (int v = x; v != y; v = from[v]) len++;
+            int[] cyc = new int[len + 1];
+            cyc[0] = x;
+            for (int v = x, i = len; i > 0; v = from[v]) cyc[i--] = v;
+            lastCycle = cyc;
+            return false;
+        }
+        int[] bwd = search(x, lb, false, nextEpoch());
+
+        sortByOrd(fwd);
+        sortByOrd(bwd);
+        int[] slots = new int[fwd.length + bwd.length];
+        int k = 0;
+        for (int v : bwd) slots[k++] = ord[v];
+        for (int v : fwd) slots[k++] = ord[v];
+        Arrays.sort(slots);
+        k = 0;
+        for (int v : bwd) { ord[v] = slots[k]; order[slots[k++]] = v; }
+        for (int v : fwd) { ord[v] = slots[k]; order[slots[k++]] = v; }
+        link(x, y);
+        return true;
+    }
+
+    public int ord(int v) { return ord[v]; }
+
+    public int vertexAt(int position) { return order[position]; }
+
+    public int[] order() { return order.clone(); }
+
+    public long edgeCount() { return edges; }
+
+    // x, y, ..., x for the last rejected insertEdge(x, y): the new edge followed by the existing path back.
+    public int[] lastCycle() { return lastCycle.clone(); }
+
+    private int[] search(int start, int bound, boolean forward, int e) {
+        int[][] adj = forward ? out : in;
+        int[] len = forward ? outLen : inLen;
+        int[] seen = new int[8], stack = new int[8];
+        int cnt = 0, sp = 0;
+        mark[start] = e;
+        seen[cnt++] = start;
+        stack[sp++] = start;
+        while (sp > 0) {
+            int v = stack[--sp];
+            int[] a = adj[v];
+            for (int i = 0, end = len[v]; i < end; i++) {
+                int t = a[i];
+                if (mark[t] == e || (forward ? ord[t] > bound : ord[t] < bound)) continue;
+                mark[t] = e;
+                from[t] = v;
+                if (forward && ord[t] == bound) return seen;  // reached x: cycle, the caller only needs from[]
+                if (cnt == seen.length) seen = Arrays.copyOf(seen, cnt * 2);
+                seen[cnt++] = t;
+                if (sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+                stack[sp++] = t;
+            }
+        }
+        return Arrays.copyOf(seen, cnt);
+    }
+
+    // Stamps for mark[]; on wrap the array is cleared so no stale stamp can match a new epoch.
+    private int nextEpoch() {
+        if (++epoch == 0) { Arrays.fill(mark, 0); epoch = 1; }
+        return epoch;
+    }
+
+    private void link(int x, int y) {
+        append(out, outLen, x, y);
+        append(in, inLen, y, x);
+        edges++;
+    }
+
+    private void sortByOrd(int[] vs) {
+        long[] keyed = new long[vs.length];
+        for (int i = 0; i < vs.length; i++) keyed[i] = (long) ord[vs[i]] << 32 | vs[i];
+        Arrays.sort(keyed);
+        for (int i = 0; i < vs.length; i++) vs[i] = (int) keyed[i];
+    }
+
+    private static void append(int[][] adj, int[] len, int c, int x) {
+        int[] a = adj[c];
+        if (a == null) adj[c] = a = new int[4];
+        else if (len[c] == a.length) adj[c] = a = Arrays.copyOf(a, a.length * 2);
+        a[len[c]++] = x;
+    }
+}
@@ -0,0 +1,90 @@
+package graph.topo;
+
+import graph.CsrGraph;
+import graph.Parallel;
+import graph.Parallel.IntBuffer;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// Level-synchronous Kahn: level 0 is every vertex without in-edges, level L+1 is every vertex whose
+// last in-edge comes from level L. Each level is expanded in parallel with atomic indegree
+// decrements; the decrement that reaches zero owns the vertex, so each vertex is appended exactly
+// once. Every level is a contiguous segment of order[] and is sorted ascending, so the output does
+// not depend on scheduling. On a cyclic graph the order stops short and cycle vertices keep level -1.
+public class ParallelTopologicalSort {
+    private static final int GRAIN = 1024;
+
+    public static final class Result {
+        public final int[] order;        // level by level, ascending inside a level
+        public final int[] level;        // level of each vertex, -1 if it lies on or behind a cycle
+        public final int[] levelStart;   // level L is order[levelStart[L] .. levelStart[L + 1])
+
+        Result(int[] order, int[] level, int[] levelStart) {
+            this.order = order; this.level = level; this.levelStart = levelStart;
+        }
+
+        public int levels() { return levelStart.length - 1; }
+
+        public boolean isAcyclic() { return order.length == level.length; }
+    }
+
+    private final CsrGraph g;
+    private final ForkJoinPool pool;
+
+    public ParallelTopologicalSort(CsrGraph g) {
+        this(g, ForkJoinPool.commonPool());
+    }
+
+    public ParallelTopologicalSort(CsrGraph g, ForkJoinPool pool) {
+        this.g = g;
+        this.pool = pool;
+    }
+
+    public Result run() {
+        return pool.invoke(ForkJoinTask.adapt(this::sort));
+    }
+
+    private Result sort() {
+        int n = g.n;
+        int[] offsets = g.offsets, targets = g.targets;
+        AtomicIntegerArray indeg = new AtomicIntegerArray(n);
+        Parallel.forRange(0, g.m, GRAIN * 4, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) indeg.getAndIncrement(targets[i]);
+        });
+
+        int[] order = new int[n], level = new int[n];
+        Arrays.fill(level, -1);
+        AtomicInteger tail = new AtomicInteger();
+        Parallel.forRange(0, n, GRAIN * 4, (lo, hi) -> {
+            IntBuffer out = new IntBuffer();
+            for (int v = lo; v < hi; v++) if (indeg.get(v) == 0) { level[v] = 0; out.add(v); }
+            out.flushTo(order, tail);
+        });
+
+        int[] starts = new int[16];
+        int levels = 0, head = 0;
+        while (head < tail.get()) {
+            int lo0 = head, hi0 = tail.get(), next = levels + 1;
+            if (levels + 2 > starts.length) starts = Arrays.copyOf(starts, starts.length * 2);
+            starts[levels++] = lo0;
+            if (hi0 - lo0 > GRAIN) Arrays.parallelSort(order, lo0, hi0); else Arrays.sort(order, lo0, hi0);
+            Parallel.forRange(lo0, hi0, GRAIN, (lo, hi) -> {
+                IntBuffer out = new IntBuffer();
+                for (int k = lo; k < hi; k++) {
+                    int u = order[k];
+                    for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                        int v = targets[i];
+                        if (indeg.decrementAndGet(v) == 0) { level[v] = next; out.add(v); }
+                    }
+                }
+                out.flushTo(order, tail);
+            });
+            head = hi0;
+        }
+        starts[levels] = head;
+        int[] done = head == n ? order : Arrays.copyOf(order, head);
+        return new Result(done, level, Arrays.copyOf(starts, levels + 1));
+    }
+}
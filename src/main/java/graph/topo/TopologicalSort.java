@@ -1,7 +1,14 @@
 package graph.topo;
 
+import graph.CsrGraph;
+import graph.OffHeapGraph;
+import graph.metrics.Counters;
+
+import java.lang.foreign.*;
 import java.util.*;
 
+import static graph.OffHeapGraph.INT;
+
 public class TopologicalSort {
     public static List<Integer> kahnSort(int n, List<List<Integer>> adj) {
         int[] indeg = new int[n];
@@ -24,4 +31,60 @@ public class TopologicalSort {
         }
         return order;
     }
+
+    // Same visiting order as kahnSort(n, adj); the order array doubles as the FIFO queue.
+    // On a cyclic graph the result is shorter than g.n.
+    public static int[] kahnSort(CsrGraph g) {
+        return kahnSort(g, null);
+    }
+
+    // counters (may be null) receives queuePops and edgesScanned.
+    public static int[] kahnSort(CsrGraph g, Counters counters) {
+        int n = g.n;
+        int[] offsets = g.offsets, targets = g.targets;
+        int[] indeg = new int[n];
+        for (int i = 0; i < g.m; i++) indeg[targets[i]]++;
+
+        int[] order = new int[n];
+        int tail = 0;
+        for (int i = 0; i < n; i++)
+            if (indeg[i] == 0) order[tail++] = i;
+
+        long scanned = 0;
+        for (int head = 0; head < tail; head++) {
+            int u = order[head];
+            scanned += offsets[u + 1] - offsets[u];
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++)
+                if (--indeg[targets[i]] == 0) order[tail++] = targets[i];
+        }
+        if (counters != null) { counters.queuePops += tail; counters.edgesScanned += scanned; }
+        return tail == n ? order : Arrays.copyOf(order, tail);
+    }
+
+    // kahnSort over an OffHeapGraph: order (n ints, heap or off-heap) receives the same order and the
+    // number of sorted vertices is returned (< g.n on a cyclic graph). indeg goes into work, or on the
+    // heap when work is null.
+    public static int kahnSort(OffHeapGraph g, MemorySegment order, Arena work) {
+        int n = g.n;
+        MemorySegment indeg = OffHeapGraph.ints(work, n);
+        indeg.fill((byte) 0);
+        for (long i = 0; i < g.m; i++) {
+            int v = g.target(i);
+            indeg.setAtIndex(INT, v, indeg.getAtIndex(INT, v) + 1);
+        }
+
+        int tail = 0;
+        for (int i = 0; i < n; i++)
+            if (indeg.getAtIndex(INT, i) == 0) order.setAtIndex(INT, tail++, i);
+
+        for (int head = 0; head < tail; head++) {
+            int u = order.getAtIndex(INT, head);
+            for (long i = g.begin(u), end = g.end(u); i < end; i++) {
+                int v = g.target(i), d = indeg.getAtIndex(INT, v) - 1;
+                indeg.setAtIndex(INT, v, d);
+                if (d == 0) order.setAtIndex(INT, tail++, v);
+            }
+        }
+        return tail;
+    }
 }
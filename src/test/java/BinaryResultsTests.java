@@ -0,0 +1,99 @@
+import graph.EdgeList;
+import graph.GraphIO;
+import graph.GraphIO.GraphSpec;
+import graph.JsonWriter;
+import graph.pipeline.*;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.StringWriter;
+import java.nio.file.*;
+import java.util.*;
+
+public class BinaryResultsTests {
+
+    @Test
+    public void round_trip_all_fields(@TempDir Path dir) throws Exception {
+        List<GraphResult> results = results();
+        Path bin = dir.resolve("r.gres"), json = dir.resolve("r.json");
+        try (BinaryResultWriter w = new BinaryResultWriter(bin); ResultJsonWriter j = new ResultJsonWriter(json)) {
+            results.forEach(w);
+            results.forEach(j);
+        }
+        assertTrue(Files.size(bin) * 4 < Files.size(json), Files.size(bin) + " vs " + Files.size(json));
+        try (BinaryResultReader in = new BinaryResultReader(bin)) {
+            assertEquals(results.size(), in.count());
+            assertFalse(in.fields().contains(ResultField.VERTEX_DISTS));
+            for (GraphResult r : results) {
+                StoredResult s = in.next();
+                assertEquals(r.graph.name, s.name);
+                assertEquals(r.graph.n, s.n);
+                assertEquals(r.graph.edgeList.size(), s.m);
+                assertEquals(r.sccs.size(), s.sccCount);
+                assertEquals(r.density(), s.density);
+                assertEquals(r.isDag(), s.isDag());
+                assertEquals(r.longest.bestValue, s.longestBest);
+                assertEquals(r.sccTimeNs, s.sccTimeNs);
+                assertEquals(r.sccMaxDepth, s.sccMaxDepth);
+                assertEquals(r.longest.updated, s.longestUpdated);
+                for (int i = 0; i < s.m; i++) assertArrayEquals(edge(r.graph.edgeList, i), new int[]{s.edgeU[i], s.edgeV[i], s.edgeW[i]});
+                int k = 0;
+                for (int c = 0; c < s.sccCount; c++) {
+                    assertEquals(r.sccs.get(c).size(), s.sccSizes[c]);
+                    for (int v : r.sccs.get(c)) assertEquals(v, s.sccMembers[k++]);
+                }
+                assertArrayEquals(r.compOf, s.compOf);
+                assertArrayEquals(r.dagW, s.dagW);
+                assertArrayEquals(r.topoVertices, s.topoVertices);
+                assertArrayEquals(r.shortest.dist, s.shortestDist);
+                assertArrayEquals(r.longest.dist, s.longestDist);
+                assertArrayEquals(r.vertexDist(r.longest.dist), s.vertexDist(s.longestDist));
+                assertArrayEquals(r.longest.pathVertices, s.longestPathVertices);
+            }
+            assertFalse(in.hasNext());
+        }
+    }
+
+    @Test
+    public void field_mask_on_write_and_column_selection_on_read(@TempDir Path dir) throws Exception {
+        List<GraphResult> results = results();
+        Path bin = dir.resolve("r.gres");
+        try (BinaryResultWriter w = new BinaryResultWriter(bin, EnumSet.of(ResultField.SCCS, ResultField.TOPO_ORDER, ResultField.PATHS))) {
+            results.forEach(w);
+        }
+        try (BinaryResultReader in = new BinaryResultReader(bin)) {
+            assertEquals(EnumSet.of(ResultField.SCCS, ResultField.TOPO_ORDER, ResultField.PATHS), in.fields());
+            for (GraphResult r : results) {
+                StoredResult s = in.next(EnumSet.of(ResultField.TOPO_ORDER, ResultField.EDGES));
+                assertEquals(EnumSet.of(ResultField.TOPO_ORDER), s.loaded);
+                assertArrayEquals(r.topoComponents, s.topoComponents);
+                assertNull(s.edgeU);
+                assertNull(s.compOf);
+                assertNull(s.longestPathVertices);
+                assertEquals(r.shortest.relaxations, s.shortestRelaxations);
+            }
+        }
+
+        StringWriter sw = new StringWriter();
+        results.get(0).writeJson(new JsonWriter(sw, false), EnumSet.of(ResultField.DISTS));
+        JSONObject j = new JSONObject(sw.toString());
+        assertFalse(j.has("edges"));
+        JSONObject res = j.getJSONObject("results");
+        assertFalse(res.has("sccs") || res.has("condensation_edges") || res.has("topo_order_vertices"));
+        assertTrue(res.getJSONObject("shortest_on_condensation").has("dist"));
+        assertFalse(res.getJSONObject("shortest_on_vertices").has("dist"));
+        assertTrue(res.getJSONObject("summary").has("density"));
+    }
+
+    private static List<GraphResult> results() throws Exception {
+        List<GraphResult> out = new ArrayList<>();
+        for (String name : List.of("small.json", "medium.json", "large.json"))
+            for (GraphSpec g : GraphIO.loadGraphs(Paths.get("src", name).toString())) out.add(GraphProcessor.process(g));
+        return out;
+    }
+
+    private static int[] edge(EdgeList e, int i) {
+        return new int[]{e.u(i), e.v(i), e.w(i)};
+    }
+}
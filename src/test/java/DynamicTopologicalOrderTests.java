@@ -0,0 +1,68 @@
+import graph.CsrGraph;
+import graph.topo.DynamicTopologicalOrder;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+public class DynamicTopologicalOrderTests {
+
+    @Test
+    public void order_stays_valid_and_cycles_are_rejected() {
+        Random rnd = new Random(9);
+        int n = 300;
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(n);
+        List<int[]> accepted = new ArrayList<>();
+        Set<Long> present = new HashSet<>();
+        for (int i = 0; i < 3_000; i++) {
+            int u = rnd.nextInt(n), v = rnd.nextInt(n);
+            List<int[]> with = new ArrayList<>(accepted);
+            with.add(new int[]{u, v, 1});
+            boolean acyclic = TopologicalSort.kahnSort(CsrGraph.of(n, with)).length == n;
+            assertEquals(acyclic, dto.insertEdge(u, v), u + "->" + v);
+            if (acyclic) {
+                accepted.add(new int[]{u, v, 1});
+                present.add((long) u << 32 | v);
+            } else {
+                int[] cyc = dto.lastCycle();
+                assertEquals(u, cyc[0]);
+                assertEquals(v, cyc[1]);
+                assertEquals(u, cyc[cyc.length - 1]);
+                for (int k = 1; k + 1 < cyc.length; k++) assertTrue(present.contains((long) cyc[k] << 32 | cyc[k + 1]));
+            }
+            if (i % 100 == 0 || !acyclic) check(dto, accepted);
+        }
+        check(dto, accepted);
+        assertEquals(accepted.size(), dto.edgeCount());
+    }
+
+    @Test
+    public void seeded_from_csr_and_self_loop() {
+        CsrGraph g = CsrGraph.of(4, new int[][]{{0, 1, 1}, {1, 2, 1}, {2, 3, 1}});
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(g);
+        assertArrayEquals(new int[]{0, 1, 2, 3}, dto.order());
+        assertFalse(dto.insertEdge(3, 0));
+        assertArrayEquals(new int[]{3, 0, 1, 2, 3}, dto.lastCycle());
+        assertFalse(dto.insertEdge(2, 2));
+        assertTrue(dto.insertEdge(0, 3));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DynamicTopologicalOrder(CsrGraph.of(2, new int[][]{{0, 1, 1}, {1, 0, 1}})));
+    }
+
+    @Test
+    public void back_edge_reorders_only_the_window() {
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(6);
+        assertTrue(dto.insertEdge(4, 1));
+        assertTrue(dto.ord(4) < dto.ord(1));
+        assertEquals(0, dto.ord(0));
+        assertEquals(5, dto.ord(5));
+        assertTrue(dto.insertEdge(5, 0));
+        assertTrue(dto.ord(5) < dto.ord(0));
+    }
+
+    private static void check(DynamicTopologicalOrder dto, List<int[]> edges) {
+        int[] order = dto.order();
+        for (int p = 0; p < order.length; p++) assertEquals(p, dto.ord(order[p]));
+        for (int[] e : edges) assertTrue(dto.ord(e[0]) < dto.ord(e[1]));
+    }
+}
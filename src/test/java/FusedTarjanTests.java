@@ -0,0 +1,66 @@
+import graph.CsrGraph;
+import graph.dagsp.DAGShortestPaths;
+import graph.metrics.Counters;
+import graph.scc.Condensation;
+import graph.scc.TarjanSCC;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+public class FusedTarjanTests {
+
+    @Test
+    public void topo_order_comes_with_the_components() {
+        Random rnd = new Random(22);
+        for (int round = 0; round < 20; round++) {
+            int n = 50 + rnd.nextInt(400);
+            int[][] edges = new int[n + rnd.nextInt(3 * n)][];
+            for (int i = 0; i < edges.length; i++) edges[i] = new int[]{rnd.nextInt(n), rnd.nextInt(n), 1 + rnd.nextInt(5)};
+            CsrGraph g = CsrGraph.of(n, edges);
+
+            TarjanSCC plain = new TarjanSCC(g);
+            List<List<Integer>> expected = plain.runIterative();
+            TarjanSCC.Fused f = new TarjanSCC(g).runFused(null);
+            assertEquals(expected, f.components);
+            assertArrayEquals(plain.compOf(), f.compOf);
+            for (int c = 0; c < expected.size(); c++) {
+                List<Integer> members = new ArrayList<>();
+                for (int k = f.memberStart[c]; k < f.memberStart[c + 1]; k++) members.add(f.members[k]);
+                assertEquals(expected.get(c), members);
+            }
+
+            CsrGraph dag = Condensation.build(g, f.compOf, expected.size()).dag;
+            int[] pos = new int[dag.n];
+            for (int k = 0; k < f.topo.length; k++) pos[f.topo[k]] = k;
+            assertEquals(dag.n, f.topo.length);
+            for (int c = 0; c < dag.n; c++)
+                for (int i = dag.offsets[c]; i < dag.offsets[c + 1]; i++) assertTrue(pos[c] < pos[dag.targets[i]]);
+        }
+    }
+
+    @Test
+    public void folded_paths_match_condensation_passes() {
+        Random rnd = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            int n = 100 + rnd.nextInt(300);
+            int[][] edges = new int[2 * n][];
+            for (int i = 0; i < edges.length; i++) edges[i] = new int[]{rnd.nextInt(n), rnd.nextInt(n), rnd.nextInt(4)};
+            CsrGraph g = CsrGraph.of(n, edges);
+            int source = rnd.nextInt(n);
+
+            TarjanSCC.Fused f = new TarjanSCC(g).runFused(null);
+            int C = f.components.size(), s = f.compOf[source];
+            Counters c = new Counters();
+            TarjanSCC.Paths shortest = f.shortest(s, c), longest = f.longest(s, c);
+            DAGShortestPaths sp = new DAGShortestPaths(Condensation.build(g, f.compOf, C).dag);
+            int[] parent = new int[C];
+            Counters d = new Counters();
+            assertArrayEquals(sp.shortestPaths(s, f.topo, parent, d), shortest.dist);
+            assertArrayEquals(parent, shortest.parent);
+            assertArrayEquals(sp.longestPaths(s, f.topo, parent, d), longest.dist);
+            assertArrayEquals(parent, longest.parent);
+            assertEquals(d.relaxations, c.relaxations);
+            assertEquals(d.updates, c.updates);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+import graph.CsrGraph;
+import graph.EdgeList;
+import graph.GraphIO;
+import graph.GraphIO.GraphSpec;
+import graph.gen.GraphGenerator;
+import graph.gen.GraphGenerator.Shape;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class GraphGeneratorTests {
+
+    @Test
+    public void shapes_have_expected_structure() throws Exception {
+        assertEquals(1 + 1_000, sccCount(new GraphGenerator(Shape.GIANT_SCC_TAIL, 2_000, 6_000, 3, 10)));
+        CsrGraph dag = csr(new GraphGenerator(Shape.DAG, 2_000, 8_000, 3, 10));
+        assertEquals(2_000, TopologicalSort.kahnSort(dag).length);
+        CsrGraph chain = csr(new GraphGenerator(Shape.CHAIN, 500, 0, 3, 10));
+        assertEquals(499, chain.m);
+        CsrGraph grid = csr(new GraphGenerator(Shape.GRID, 100, 0, 3, 10));
+        assertEquals(180, grid.m);
+        CsrGraph random = csr(new GraphGenerator(Shape.RANDOM, 1_000, 5_000, 3, 10));
+        for (int u = 0; u < random.n; u++)
+            for (int i = random.offsets[u]; i < random.offsets[u + 1]; i++) assertNotEquals(u, random.targets[i]);
+        CsrGraph pl = csr(new GraphGenerator(Shape.POWER_LAW, 1_000, 20_000, 3, 10));
+        assertTrue(pl.transpose().outDegree(0) > 20 * pl.transpose().outDegree(999));
+    }
+
+    @Test
+    public void json_and_binary_batches_are_identical_and_reproducible(@TempDir Path dir) throws Exception {
+        Path json = dir.resolve("g.json"), bin = dir.resolve("g.bin");
+        GraphGenerator.writeBatch(json, Shape.GIANT_SCC_TAIL, 300, 900, 7, 50, 3);
+        GraphGenerator.writeBatch(bin, Shape.GIANT_SCC_TAIL, 300, 900, 7, 50, 3);
+        List<GraphSpec> a = GraphIO.loadGraphs(json.toString()), b = GraphIO.loadGraphs(bin.toString());
+        assertEquals(3, a.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(a.get(i).name, b.get(i).name);
+            assertEquals(900, a.get(i).edgeList.size());
+            for (int j = 0; j < 900; j++) assertArrayEquals(edge(a.get(i).edgeList, j), edge(b.get(i).edgeList, j));
+        }
+        List<int[]> again = new ArrayList<>();
+        new GraphGenerator(Shape.GIANT_SCC_TAIL, 300, 900, 7, 50).forEachEdge((u, v, w) -> again.add(new int[]{u, v, w}));
+        for (int j = 0; j < 900; j++) assertArrayEquals(edge(a.get(0).edgeList, j), again.get(j));
+    }
+
+    private static CsrGraph csr(GraphGenerator g) throws Exception {
+        int[] us = new int[g.m], vs = new int[g.m], ws = new int[g.m];
+        int[] k = {0};
+        g.forEachEdge((u, v, w) -> { us[k[0]] = u; vs[k[0]] = v; ws[k[0]++] = w; });
+        assertEquals(g.m, k[0]);
+        return CsrGraph.of(g.n, us, vs, ws, g.m);
+    }
+
+    private static int sccCount(GraphGenerator g) throws Exception {
+        return new TarjanSCC(csr(g)).runIterative().size();
+    }
+
+    private static int[] edge(EdgeList e, int i) {
+        return new int[]{e.u(i), e.v(i), e.w(i)};
+    }
+}
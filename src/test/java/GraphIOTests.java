@@ -0,0 +1,132 @@
+import graph.BinaryGraphReader;
+import graph.BinaryGraphWriter;
+import graph.CsrGraph;
+import graph.EdgeList;
+import graph.GraphIO;
+import graph.GraphIO.GraphSpec;
+import graph.JsonGraphReader;
+import graph.OffHeapGraph;
+import graph.scc.TarjanSCC;
+import org.json.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.StringReader;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+public class GraphIOTests {
+
+    @Test
+    public void streaming_loader_matches_dom_parse() throws Exception {
+        for (String name : List.of("small.json", "medium.json", "large.json")) {
+            Path p = Paths.get("src", name);
+            JSONArray arr = new JSONObject(Files.readString(p)).getJSONArray("graphs");
+            List<GraphSpec> streamed;
+            try (Stream<GraphSpec> s = GraphIO.streamGraphs(p.toString())) { streamed = s.toList(); }
+            assertEquals(arr.length(), streamed.size());
+            for (int i = 0; i < arr.length(); i++) {
+                JSONObject g = arr.getJSONObject(i);
+                GraphSpec s = streamed.get(i);
+                assertEquals(g.optString("name", "graph_" + i), s.name);
+                assertEquals(g.getInt("n"), s.n);
+                assertEquals(g.optInt("source", 0), s.source);
+                assertEquals(g.optString("weight_model", "edge"), s.weightModel);
+                JSONArray es = g.getJSONArray("edges");
+                assertEquals(es.length(), s.edgeList.size());
+                for (int j = 0; j < es.length(); j++) {
+                    JSONObject e = es.getJSONObject(j);
+                    assertArrayEquals(new int[]{e.getInt("u"), e.getInt("v"), e.optInt("w", 1)}, edge(s.edgeList, j));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void streaming_loader_skips_unknown_keys_and_applies_defaults() throws Exception {
+        String json = "{\"meta\":{\"a\":[1,{\"b\":\"]}\"}]},\"graphs\":[" +
+                "{\"results\":{\"x\":[[1,2],[3]]},\"edges\":[{\"v\":1,\"u\":0},{\"u\":1,\"v\":2,\"w\":-4,\"tag\":null}],\"n\":3}," +
+                "{\"name\":\"q\\\"\\u0041\",\"directed\":false,\"n\":0,\"edges\":[],\"source\":0,\"weight_model\":\"node\"}" +
+                "]}";
+        try (JsonGraphReader r = new JsonGraphReader(new StringReader(json))) {
+            GraphSpec a = r.next();
+            assertEquals("graph_0", a.name);
+            assertTrue(a.directed);
+            assertEquals("edge", a.weightModel);
+            assertArrayEquals(new int[]{0, 1, 1}, edge(a.edgeList, 0));
+            assertArrayEquals(new int[]{1, 2, -4}, edge(a.edgeList, 1));
+            GraphSpec b = r.next();
+            assertEquals("q\"A", b.name);
+            assertFalse(b.directed);
+            assertEquals(0, b.edgeList.size());
+            assertFalse(r.hasNext());
+        }
+        assertThrows(JSONException.class, () -> new JsonGraphReader(new StringReader("{\"other\":1}")));
+    }
+
+    @Test
+    public void binary_roundtrip_preserves_graphs(@TempDir Path dir) throws Exception {
+        for (String name : List.of("small.json", "medium.json", "large.json")) {
+            String json = Paths.get("src", name).toString();
+            List<GraphSpec> expected = GraphIO.loadGraphs(json);
+            for (byte layout : new byte[]{BinaryGraphWriter.LAYOUT_EDGES, BinaryGraphWriter.LAYOUT_CSR}) {
+                Path bin = dir.resolve(name + layout + ".bin");
+                assertEquals(expected.size(), GraphIO.convertToBinary(json, bin.toString(), layout));
+                List<GraphSpec> loaded = GraphIO.loadGraphs(bin.toString());
+                assertEquals(expected.size(), loaded.size());
+                try (BinaryGraphReader r = GraphIO.openBinary(bin.toString())) {
+                    for (int i = 0; i < expected.size(); i++) {
+                        GraphSpec e = expected.get(i), a = loaded.get(i);
+                        assertEquals(e.name, a.name);
+                        assertEquals(e.n, a.n);
+                        assertEquals(e.source, a.source);
+                        assertEquals(e.directed, a.directed);
+                        assertEquals(e.weightModel, a.weightModel);
+                        CsrGraph ce = CsrGraph.of(e), ca = r.nextCsr();
+                        assertArrayEquals(ce.offsets, ca.offsets);
+                        assertArrayEquals(ce.targets, ca.targets);
+                        assertArrayEquals(ce.weights, ca.weights);
+                        if (layout == BinaryGraphWriter.LAYOUT_EDGES)
+                            for (int j = 0; j < e.edgeList.size(); j++) assertArrayEquals(edge(e.edgeList, j), edge(a.edgeList, j));
+                    }
+                }
+            }
+            Path back = dir.resolve(name);
+            GraphIO.convertToJson(dir.resolve(name + "0.bin").toString(), back.toString());
+            assertEquals(expected.size(), new JSONObject(Files.readString(back)).getJSONArray("graphs").length());
+        }
+    }
+
+    @Test
+    public void csr_records_are_viewed_in_place(@TempDir Path dir) throws Exception {
+        String json = Paths.get("src", "large.json").toString();
+        Path bin = dir.resolve("large.csr.bin");
+        GraphIO.convertToBinary(json, bin.toString(), BinaryGraphWriter.LAYOUT_CSR);
+        try (BinaryGraphReader r = GraphIO.openBinary(bin.toString())) {
+            for (GraphSpec e : GraphIO.loadGraphs(json)) {
+                BinaryGraphReader.View v = r.nextView();
+                assertTrue(v.isCsr());
+                assertEquals(e.name, v.name);
+                OffHeapGraph g = v.csr;
+                assertTrue(g.targets.isMapped());
+                CsrGraph ce = CsrGraph.of(e);
+                assertArrayEquals(ce.offsets, g.offsets.toArray(OffHeapGraph.INT));
+                for (int u = 0; u < e.n; u++) assertEquals(ce.offsets[u + 1], g.end(u));
+                assertArrayEquals(ce.weights, g.weights.toArray(OffHeapGraph.INT));
+
+                TarjanSCC heap = new TarjanSCC(ce);
+                int comps = heap.runIterative().size();
+                int[] compOf = new int[e.n];
+                assertEquals(comps, TarjanSCC.runIterative(g, MemorySegment.ofArray(compOf), null));
+                assertArrayEquals(heap.compOf(), compOf);
+            }
+            assertFalse(r.hasNext());
+        }
+    }
+
+    private static int[] edge(EdgeList e, int i) {
+        return new int[]{e.u(i), e.v(i), e.w(i)};
+    }
+}
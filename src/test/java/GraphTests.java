@@ -1,3 +1,5 @@
+import graph.CsrGraph;
+import graph.scc.Condensation;
 import graph.scc.TarjanSCC;
 import graph.topo.TopologicalSort;
 import graph.dagsp.DAGShortestPaths;
@@ -53,4 +55,87 @@ public class GraphTests {
         assertEquals(7, dist[6]);
         assertEquals(8, dist[7]);
     }
+
+    @Test
+    public void testCsrGraphMatchesAdjacencyApi() {
+        int n = 8;
+        int[][] edges = {
+                {0, 1, 3}, {1, 2, 2}, {2, 3, 4}, {3, 1, 1},
+                {4, 5, 2}, {5, 6, 5}, {6, 7, 1}, {4, 6, 9}
+        };
+        CsrGraph g = CsrGraph.of(n, edges);
+        assertEquals(8, g.m);
+        assertEquals(2, g.outDegree(4));
+
+        TarjanSCC byList = new TarjanSCC(n);
+        for (int[] e : edges) byList.addEdge(e[0], e[1]);
+        assertEquals(byList.run(), new TarjanSCC(g).run());
+
+        int[] topo = {4, 5, 6, 7};
+        DAGShortestPaths sp = new DAGShortestPaths(g);
+        assertArrayEquals(new int[]{0, 2, 7, 8}, Arrays.copyOfRange(sp.shortestPaths(4, topo), 4, 8));
+        assertArrayEquals(new int[]{0, 2, 9, 10}, Arrays.copyOfRange(sp.longestPaths(4, topo), 4, 8));
+
+        CsrGraph dag = CsrGraph.of(4, new int[][]{{0, 1, 1}, {1, 2, 1}, {2, 3, 1}});
+        assertArrayEquals(new int[]{0, 1, 2, 3}, TopologicalSort.kahnSort(dag));
+    }
+
+    @Test
+    public void testCondensationKeepsMinWeightPerComponentPair() {
+        int[][] edges = {
+                {0, 1, 1}, {1, 0, 1},           // component {0,1}
+                {2, 3, 1}, {3, 2, 1},           // component {2,3}
+                {0, 2, 7}, {1, 3, 4}, {1, 2, 9},
+                {4, 0, 5}, {4, 1, 2}, {4, 3, 3}
+        };
+        CsrGraph g = CsrGraph.of(5, edges);
+        TarjanSCC t = new TarjanSCC(g);
+        int C = t.runIterative().size();
+        int[] compOf = t.compOf();
+        Condensation cond = Condensation.build(g, compOf, C);
+        CsrGraph dag = cond.dag;
+
+        Map<List<Integer>, Integer> expected = new HashMap<>();
+        for (int[] e : edges)
+            if (compOf[e[0]] != compOf[e[1]])
+                expected.merge(List.of(compOf[e[0]], compOf[e[1]]), e[2], Math::min);
+        assertEquals(expected.size(), dag.m);
+        for (int u = 0; u < dag.n; u++)
+            for (int i = dag.offsets[u]; i < dag.offsets[u + 1]; i++) {
+                assertEquals(expected.get(List.of(u, dag.targets[i])), dag.weights[i]);
+                if (i > dag.offsets[u]) assertTrue(dag.targets[i - 1] < dag.targets[i]);
+            }
+        assertEquals(C, TopologicalSort.kahnSort(dag).length);
+
+        // 4 -> {0,1} -> {2,3}: bridges are (4,0) and the smallest of (0,2), (1,3), (1,2)
+        int[] compPath = {compOf[4], compOf[0], compOf[2]};
+        assertArrayEquals(new int[]{4, 0, 2}, cond.toVertexPath(compPath, 4));
+        int slot = cond.edgeSlot(compOf[0], compOf[2]);
+        assertEquals(0, cond.bridgeU[slot]);
+        assertEquals(2, cond.bridgeV[slot]);
+        assertEquals(-1, cond.edgeSlot(compOf[2], compOf[0]));
+    }
+
+    @Test
+    public void testMultiSourceMatchesSingleSource() {
+        Random rnd = new Random(11);
+        int n = 400;
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n);
+            if (a != b) edges.add(new int[]{Math.min(a, b), Math.max(a, b), 1 + rnd.nextInt(50)});
+        }
+        CsrGraph g = CsrGraph.of(n, edges);
+        int[] topo = TopologicalSort.kahnSort(g);
+        DAGShortestPaths sp = new DAGShortestPaths(g);
+        for (int K : new int[]{1, 5, 37}) {
+            int[] sources = new int[K];
+            for (int k = 0; k < K; k++) sources[k] = rnd.nextInt(n);
+            int[][] shortest = sp.shortestPaths(sources, topo), longest = sp.longestPaths(sources, topo);
+            for (int k = 0; k < K; k++) {
+                assertArrayEquals(sp.shortestPaths(sources[k], topo), shortest[k], DAGShortestPaths.laneKernel());
+                assertArrayEquals(sp.longestPaths(sources[k], topo), longest[k], DAGShortestPaths.laneKernel());
+            }
+        }
+    }
 }
@@ -0,0 +1,69 @@
+import graph.CsrGraph;
+import graph.scc.IncrementalSCC;
+import graph.scc.TarjanSCC;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+public class IncrementalSCCTests {
+
+    @Test
+    public void matches_tarjan_after_every_batch_of_inserts() {
+        Random rnd = new Random(3);
+        int n = 600;
+        List<int[]> edges = new ArrayList<>();
+        IncrementalSCC inc = new IncrementalSCC(n);
+        for (int batch = 0; batch < 30; batch++) {
+            for (int i = 0; i < 40; i++) {
+                int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                edges.add(new int[]{u, v, 1});
+                inc.addEdge(u, v);
+            }
+            check(inc, CsrGraph.of(n, edges));
+        }
+        assertTrue(inc.componentCount() < n);
+    }
+
+    @Test
+    public void seeded_from_csr_then_updated() {
+        Random rnd = new Random(5);
+        int n = 2_000;
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 1_800; i++) edges.add(new int[]{rnd.nextInt(n), rnd.nextInt(n), 1});
+        IncrementalSCC inc = new IncrementalSCC(CsrGraph.of(n, edges));
+        check(inc, CsrGraph.of(n, edges));
+        for (int i = 0; i < 400; i++) {
+            int u = rnd.nextInt(n), v = rnd.nextInt(n);
+            edges.add(new int[]{u, v, 1});
+            inc.addEdge(u, v);
+        }
+        check(inc, CsrGraph.of(n, edges));
+    }
+
+    @Test
+    public void closing_a_cycle_merges_only_the_cycle() {
+        IncrementalSCC inc = new IncrementalSCC(5);
+        assertFalse(inc.addEdge(0, 1));
+        assertFalse(inc.addEdge(1, 2));
+        assertFalse(inc.addEdge(2, 3));
+        assertFalse(inc.addEdge(4, 0));
+        assertTrue(inc.addEdge(2, 0));
+        assertEquals(3, inc.componentCount());
+        assertTrue(inc.sameComponent(0, 2));
+        assertFalse(inc.sameComponent(2, 3));
+        assertEquals(List.of(List.of(4), List.of(0, 1, 2), List.of(3)), inc.components());
+        assertArrayEquals(new int[]{1, 1, 1, 2, 0}, inc.compOf());
+    }
+
+    private static void check(IncrementalSCC inc, CsrGraph g) {
+        assertEquals(ParallelSCCTests.canonical(new TarjanSCC(g).runIterative()),
+                ParallelSCCTests.canonical(inc.components()));
+        // compOf numbers components topologically, so every crossing edge must go forward
+        int[] compOf = inc.compOf();
+        for (int u = 0; u < g.n; u++)
+            for (int i = g.offsets[u]; i < g.offsets[u + 1]; i++) {
+                int v = g.targets[i];
+                if (compOf[u] != compOf[v]) assertTrue(compOf[u] < compOf[v], u + "->" + v);
+            }
+    }
+}
@@ -0,0 +1,82 @@
+import graph.CsrGraph;
+import graph.GraphIO;
+import graph.GraphIO.GraphSpec;
+import graph.dagsp.DAGShortestPaths;
+import graph.metrics.*;
+import graph.pipeline.BatchProcessor;
+import graph.pipeline.GraphProcessor;
+import graph.pipeline.GraphResult;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class MetricsTests {
+
+    @Test
+    public void counters_are_counted_not_derived() {
+        // 0 -> 1 -> 2 -> 0 cycle, 2 -> 3 -> 4 chain, 5 isolated
+        CsrGraph g = CsrGraph.of(6, new int[][]{{0, 1, 1}, {1, 2, 1}, {2, 0, 1}, {2, 3, 4}, {3, 4, 2}});
+        Counters c = new Counters();
+        new TarjanSCC(g).runIterative(c);
+        assertEquals(6, c.dfsCalls);
+        assertEquals(5, c.edgesScanned);
+        assertEquals(5, c.maxStackDepth);
+
+        CsrGraph dag = CsrGraph.of(4, new int[][]{{0, 1, 1}, {0, 2, 5}, {1, 2, 1}, {3, 2, 1}});
+        Counters t = new Counters();
+        int[] topo = TopologicalSort.kahnSort(dag, t);
+        assertEquals(4, t.queuePops);
+        assertEquals(4, t.edgesScanned);
+
+        Counters s = new Counters();
+        int[] parent = new int[4];
+        assertArrayEquals(new int[]{0, 1, 2, 1_000_000_000}, new DAGShortestPaths(dag).shortestPaths(0, topo, parent, s));
+        assertEquals(3, s.relaxations);
+        assertEquals(3, s.updates);
+        assertArrayEquals(new int[]{-1, 0, 1, -1}, parent);
+    }
+
+    @Test
+    public void batch_histograms_and_jfr_events(@TempDir Path dir) throws Exception {
+        List<GraphSpec> graphs = GraphIO.loadGraphs(Paths.get("src", "medium.json").toString());
+        PhaseMetrics metrics = new PhaseMetrics();
+        List<GraphResult> results = new ArrayList<>();
+        Path jfr = dir.resolve("run.jfr");
+        try (Recording rec = new Recording()) {
+            rec.enable("graph.Phase").withThreshold(java.time.Duration.ZERO);
+            rec.start();
+            try (BatchProcessor bp = BatchProcessor.withThreads(2)) {
+                bp.process(graphs.iterator(), g -> GraphProcessor.process(g, metrics), results::add);
+            }
+            rec.stop();
+            rec.dump(jfr);
+        }
+        for (Phase p : Phase.values()) assertEquals(graphs.size(), metrics.latency(p).count(), p.name());
+        LatencyHistogram total = metrics.latency(Phase.TOTAL);
+        assertTrue(total.percentile(0.5) <= total.percentile(0.99));
+        assertTrue(total.percentile(1.0) <= total.max());
+
+        long edges = 0, relax = 0;
+        for (GraphResult r : results) {
+            edges += r.graph.edgeList.size();
+            relax += r.shortest.relaxations;
+            assertEquals(r.graph.n, r.sccDfsCalls);
+            assertEquals(r.graph.edgeList.size(), r.sccEdgesScanned);
+            assertEquals(GraphResult.NOT_MEASURED, r.topoPops);  // the topo order comes out of the SCC pass
+        }
+        assertEquals(edges, metrics.totals(Phase.SCC).edgesScanned);
+        assertEquals(relax, metrics.totals(Phase.SHORTEST).relaxations);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+        assertEquals(graphs.size() * 4L, events.stream().filter(e -> e.getEventType().getName().equals("graph.Phase")).count());
+        assertTrue(events.stream().anyMatch(e -> "SCC".equals(e.getString("phase")) && e.getLong("edgesScanned") > 0));
+        assertFalse(metrics.report().isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+import graph.CsrGraph;
+import graph.EdgeSource;
+import graph.OffHeapGraph;
+import graph.dagsp.DAGShortestPaths;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.foreign.*;
+import java.nio.file.Path;
+import java.util.*;
+
+public class OffHeapGraphTests {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    public void tarjan_and_kahn_match_heap_versions() throws Exception {
+        Random rnd = new Random(21);
+        int n = 3_000;
+        int[][] edges = new int[12_000][];
+        for (int i = 0; i < edges.length; i++) edges[i] = new int[]{rnd.nextInt(n), rnd.nextInt(n), 1 + rnd.nextInt(9)};
+        CsrGraph csr = CsrGraph.of(n, edges);
+        EdgeSource src = sink -> { for (int[] e : edges) sink.edge(e[0], e[1], e[2]); };
+
+        TarjanSCC heap = new TarjanSCC(csr);
+        int components = heap.runIterative().size();
+        int[] expected = heap.compOf();
+        try (Arena arena = Arena.ofConfined()) {
+            for (OffHeapGraph g : List.of(OffHeapGraph.copyOf(csr, arena), OffHeapGraph.build(n, src, arena),
+                    OffHeapGraph.build(n, src, tmp.resolve("g.ohg"), arena))) {
+                assertEquals(csr.m, g.m);
+                CsrGraph back = g.toCsr();
+                assertArrayEquals(csr.offsets, back.offsets);
+                assertArrayEquals(csr.targets, back.targets);
+                assertArrayEquals(csr.weights, back.weights);
+                for (Arena work : Arrays.asList(null, arena)) {
+                    MemorySegment compOf = OffHeapGraph.ints(work, n);
+                    assertEquals(components, TarjanSCC.runIterative(g, compOf, work));
+                    assertArrayEquals(expected, compOf.toArray(OffHeapGraph.INT));
+                    MemorySegment order = OffHeapGraph.ints(work, n);
+                    int[] kahn = TopologicalSort.kahnSort(csr);
+                    assertEquals(kahn.length, TopologicalSort.kahnSort(g, order, work));
+                    assertArrayEquals(kahn, Arrays.copyOf(order.toArray(OffHeapGraph.INT), kahn.length));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void dag_paths_from_mapped_file() throws Exception {
+        Random rnd = new Random(5);
+        int n = 2_000;
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n);
+            if (a != b) edges.add(new int[]{Math.min(a, b), Math.max(a, b), rnd.nextInt(7) - 2});
+        }
+        CsrGraph csr = CsrGraph.of(n, edges);
+        int[] topo = TopologicalSort.kahnSort(csr);
+        DAGShortestPaths sp = new DAGShortestPaths(csr);
+        Path file = tmp.resolve("dag.ohg");
+        try (Arena build = Arena.ofConfined()) {
+            OffHeapGraph.build(n, sink -> { for (int[] e : edges) sink.edge(e[0], e[1], e[2]); }, file, build);
+        }
+        try (Arena arena = Arena.ofShared()) {
+            OffHeapGraph g = OffHeapGraph.map(file, arena);
+            MemorySegment order = OffHeapGraph.ints(arena, n), dist = OffHeapGraph.ints(arena, n), parent = OffHeapGraph.ints(arena, n);
+            assertEquals(n, TopologicalSort.kahnSort(g, order, arena));
+            int[] p = new int[n];
+            for (int s : new int[]{topo[0], topo[n / 2]}) {
+                assertArrayEquals(sp.shortestPaths(s, topo, p, null), distOf(() -> DAGShortestPaths.shortestPaths(g, s, order, n, dist, parent), dist));
+                assertArrayEquals(p, parent.toArray(OffHeapGraph.INT));
+                assertArrayEquals(sp.longestPaths(s, topo, p, null), distOf(() -> DAGShortestPaths.longestPaths(g, s, order, n, dist, parent), dist));
+                assertArrayEquals(p, parent.toArray(OffHeapGraph.INT));
+            }
+        }
+    }
+
+    @Test
+    public void map_rejects_other_files() throws Exception {
+        Path f = tmp.resolve("junk.ohg");
+        java.nio.file.Files.write(f, new byte[64]);
+        try (Arena arena = Arena.ofConfined()) {
+            assertThrows(java.io.IOException.class, () -> OffHeapGraph.map(f, arena));
+        }
+    }
+
+    private static int[] distOf(Runnable pass, MemorySegment dist) {
+        pass.run();
+        return dist.toArray(OffHeapGraph.INT);
+    }
+}
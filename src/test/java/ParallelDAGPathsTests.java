@@ -0,0 +1,71 @@
+import graph.CsrGraph;
+import graph.dagsp.DAGShortestPaths;
+import graph.dagsp.ParallelDAGPaths;
+import graph.metrics.Counters;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelDAGPathsTests {
+
+    @Test
+    public void matches_sequential_including_parents_and_counters() {
+        Random rnd = new Random(20);
+        int n = 5_000;
+        int[] topo = new int[n];
+        for (int i = 0; i < n; i++) topo[i] = i;
+        for (int i = n - 1; i > 0; i--) { int j = rnd.nextInt(i + 1), t = topo[i]; topo[i] = topo[j]; topo[j] = t; }
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n);
+            if (a == b) continue;
+            // tiny weight range and repeated edges, so equal-cost predecessors are common
+            edges.add(new int[]{topo[Math.min(a, b)], topo[Math.max(a, b)], rnd.nextInt(3) - 1});
+        }
+        CsrGraph g = CsrGraph.of(n, edges);
+        DAGShortestPaths sp = new DAGShortestPaths(g);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelDAGPaths par = new ParallelDAGPaths(g, topo, pool);
+            assertTrue(par.levels() > 1);
+            for (int src : new int[]{topo[0], topo[7], topo[n / 3], topo[n - 1]}) {
+                int[] p1 = new int[n], p2 = new int[n];
+                Counters c1 = new Counters(), c2 = new Counters();
+                assertArrayEquals(sp.shortestPaths(src, topo, p1, c1), par.shortestPaths(src, p2, c2));
+                assertArrayEquals(p1, p2);
+                assertEquals(c1.relaxations, c2.relaxations);
+                assertEquals(c1.updates, c2.updates);
+
+                c1.reset(); c2.reset();
+                assertArrayEquals(sp.longestPaths(src, topo, p1, c1), par.longestPaths(src, p2, c2));
+                assertArrayEquals(p1, p2);
+                assertEquals(c1.relaxations, c2.relaxations);
+                assertEquals(c1.updates, c2.updates);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void first_predecessor_in_topo_order_wins_ties() {
+        // 0 -> 1 and 0 -> 2, both 1 -> 3 and 2 -> 3 give 3 the same distance
+        int[][] edges = {{0, 1, 1}, {0, 2, 1}, {1, 3, 1}, {2, 3, 1}};
+        DAGShortestPaths sp = new DAGShortestPaths(4);
+        for (int[] e : edges) sp.addEdge(e[0], e[1], e[2]);
+        for (int[] topo : new int[][]{{0, 1, 2, 3}, {0, 2, 1, 3}}) {
+            int[] parent = new int[4];
+            sp.parallel(topo).shortestPaths(0, parent, null);
+            assertEquals(topo[1], parent[3]);
+        }
+    }
+
+    @Test
+    public void rejects_cycles_and_bad_orders() {
+        CsrGraph cyclic = CsrGraph.of(2, new int[][]{{0, 1, 1}, {1, 0, 1}});
+        assertThrows(IllegalArgumentException.class, () -> new ParallelDAGPaths(cyclic, new int[]{0, 1}));
+        CsrGraph dag = CsrGraph.of(2, new int[][]{{0, 1, 1}});
+        assertThrows(IllegalArgumentException.class, () -> new ParallelDAGPaths(dag, new int[]{1, 0}));
+    }
+}
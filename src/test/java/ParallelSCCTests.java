@@ -0,0 +1,68 @@
+import graph.CsrGraph;
+import graph.scc.ParallelSCC;
+import graph.scc.TarjanSCC;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelSCCTests {
+
+    @Test
+    public void matches_tarjan_on_random_graphs() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (long seed = 1; seed <= 5; seed++) {
+            CsrGraph g = random(3_000, 4_500 + (int) seed * 500, seed);
+            ParallelSCC p = new ParallelSCC(g, pool, 64);
+            List<List<Integer>> comps = p.run();
+            assertEquals(canonical(new TarjanSCC(g).runIterative()), comps);
+            int[] compOf = p.compOf();
+            for (int cid = 0; cid < comps.size(); cid++)
+                for (int v : comps.get(cid)) assertEquals(cid, compOf[v]);
+            assertEquals(comps, p.run());
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void matches_tarjan_on_giant_scc_with_tail() {
+        CsrGraph g = giantWithTail(200_000, 50_000, 11);
+        List<List<Integer>> expected = canonical(new TarjanSCC(g).runIterative());
+        assertEquals(expected, new ParallelSCC(g, ForkJoinPool.commonPool(), 256).run());
+        assertEquals(expected, new ParallelSCC(g).run());
+    }
+
+    @Test
+    public void small_graph_falls_back_to_tarjan() {
+        CsrGraph g = CsrGraph.of(5, new int[][]{{0, 1, 1}, {1, 0, 1}, {2, 3, 1}, {3, 4, 1}, {4, 2, 1}});
+        assertEquals(List.of(List.of(0, 1), List.of(2, 3, 4)), new ParallelSCC(g).run());
+    }
+
+    static List<List<Integer>> canonical(List<List<Integer>> comps) {
+        List<List<Integer>> out = new ArrayList<>();
+        for (List<Integer> c : comps) { List<Integer> s = new ArrayList<>(c); Collections.sort(s); out.add(s); }
+        out.sort(Comparator.comparingInt(c -> c.get(0)));
+        return out;
+    }
+
+    private static CsrGraph random(int n, int m, long seed) {
+        Random rnd = new Random(seed);
+        List<int[]> es = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) es.add(new int[]{rnd.nextInt(n), rnd.nextInt(n), 1});
+        return CsrGraph.of(n, es);
+    }
+
+    // A cycle through the first `giant` vertices with random chords, plus an acyclic tail hanging off it.
+    private static CsrGraph giantWithTail(int giant, int tail, long seed) {
+        Random rnd = new Random(seed);
+        int n = giant + tail;
+        List<int[]> es = new ArrayList<>();
+        for (int i = 0; i < giant; i++) es.add(new int[]{i, (i + 1) % giant, 1});
+        for (int i = 0; i < giant; i++) es.add(new int[]{rnd.nextInt(giant), rnd.nextInt(giant), 1});
+        for (int v = giant; v < n; v++) {
+            int from = rnd.nextInt(v);
+            if (rnd.nextBoolean()) es.add(new int[]{from, v, 1}); else es.add(new int[]{v, rnd.nextInt(giant), 1});
+        }
+        return CsrGraph.of(n, es);
+    }
+}
@@ -0,0 +1,70 @@
+import graph.CsrGraph;
+import graph.topo.ParallelTopologicalSort;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelTopologicalSortTests {
+
+    @Test
+    public void levels_are_longest_path_depths() {
+        Random rnd = new Random(21);
+        int n = 20_000;
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 80_000; i++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n);
+            if (a != b) edges.add(new int[]{Math.min(a, b), Math.max(a, b), 1});
+        }
+        CsrGraph g = CsrGraph.of(n, edges);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelTopologicalSort.Result r = new ParallelTopologicalSort(g, pool).run();
+            assertTrue(r.isAcyclic());
+            assertEquals(n, r.order.length);
+            check(g, r);
+            // same input, same output regardless of scheduling
+            assertArrayEquals(r.order, new ParallelTopologicalSort(g).run().order);
+            assertArrayEquals(r.order, new ParallelTopologicalSort(g, pool).run().order);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void cycle_vertices_are_left_out() {
+        // 0 -> 1 -> 2 -> 1, 2 -> 3, 4 -> 3, 5 alone
+        CsrGraph g = CsrGraph.of(6, new int[][]{{0, 1, 1}, {1, 2, 1}, {2, 1, 1}, {2, 3, 1}, {4, 3, 1}});
+        ParallelTopologicalSort.Result r = new ParallelTopologicalSort(g).run();
+        assertFalse(r.isAcyclic());
+        assertArrayEquals(new int[]{0, 4, 5}, r.order);
+        assertEquals(TopologicalSort.kahnSort(g).length, r.order.length);
+        assertArrayEquals(new int[]{0, -1, -1, -1, 0, 0}, r.level);
+        assertEquals(1, r.levels());
+    }
+
+    @Test
+    public void empty_graph() {
+        ParallelTopologicalSort.Result r = new ParallelTopologicalSort(CsrGraph.of(0, new int[0][])).run();
+        assertEquals(0, r.order.length);
+        assertEquals(0, r.levels());
+    }
+
+    private static void check(CsrGraph g, ParallelTopologicalSort.Result r) {
+        int[] pos = new int[g.n], depth = new int[g.n];
+        for (int p = 0; p < r.order.length; p++) pos[r.order[p]] = p;
+        for (int u : TopologicalSort.kahnSort(g))
+            for (int i = g.offsets[u]; i < g.offsets[u + 1]; i++) {
+                int v = g.targets[i];
+                assertTrue(pos[u] < pos[v], u + "->" + v);
+                depth[v] = Math.max(depth[v], depth[u] + 1);
+            }
+        assertArrayEquals(depth, r.level);
+        for (int L = 0; L < r.levels(); L++)
+            for (int p = r.levelStart[L]; p < r.levelStart[L + 1]; p++) {
+                assertEquals(L, r.level[r.order[p]]);
+                if (p > r.levelStart[L]) assertTrue(r.order[p - 1] < r.order[p]);
+            }
+    }
+}
@@ -0,0 +1,68 @@
+import graph.CsrGraph;
+import graph.dagsp.DAGShortestPaths;
+import graph.dagsp.PathQuery;
+import graph.metrics.Counters;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+public class PathQueryTests {
+
+    @Test
+    public void pair_queries_match_full_passes() {
+        Random rnd = new Random(23);
+        int n = 1_500;
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 4_000; i++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n);
+            if (a != b) edges.add(new int[]{Math.min(a, b), Math.max(a, b), rnd.nextInt(5) - 1});
+        }
+        CsrGraph g = CsrGraph.of(n, edges);
+        int[] topo = TopologicalSort.kahnSort(g);
+        DAGShortestPaths sp = new DAGShortestPaths(g);
+        PathQuery q = sp.queries(topo);
+        int[] parent = new int[n];
+        for (int round = 0; round < 40; round++) {
+            int src = rnd.nextInt(n);
+            int[] sd = sp.shortestPaths(src, topo, parent, null), sParent = parent.clone();
+            int[] ld = sp.longestPaths(src, topo, parent, null);
+            for (int k = 0; k < 20; k++) {
+                int t = rnd.nextInt(n);
+                PathQuery.Path s = q.shortest(src, t), l = q.longest(src, t);
+                assertEquals(sd[t], s.distance());
+                assertEquals(ld[t], l.distance());
+                assertArrayEquals(path(sParent, src, t, sd[t] != 1_000_000_000), s.vertices());
+                assertArrayEquals(path(parent, src, t, ld[t] != Integer.MIN_VALUE), l.vertices());
+            }
+        }
+    }
+
+    @Test
+    public void stops_at_the_target() {
+        // chain 0 -> 1 -> ... -> 99 plus a fan-out from 0 the query must not walk past 10
+        int n = 100;
+        List<int[]> edges = new ArrayList<>();
+        for (int v = 0; v + 1 < n; v++) edges.add(new int[]{v, v + 1, 1});
+        for (int v = 20; v < n; v++) edges.add(new int[]{0, v, 50});
+        CsrGraph g = CsrGraph.of(n, edges);
+        PathQuery q = new PathQuery(g, TopologicalSort.kahnSort(g));
+        Counters c = new Counters();
+        PathQuery.Path p = q.shortest(0, 10, c);
+        assertEquals(10, p.distance());
+        assertEquals(11, p.vertices().length);
+        assertEquals(10, c.queuePops);
+
+        assertFalse(q.longest(10, 5).reachable());
+        assertEquals(0, q.shortest(7, 7).distance());
+    }
+
+    private static int[] path(int[] parent, int src, int t, boolean reachable) {
+        if (!reachable) return new int[0];
+        List<Integer> rev = new ArrayList<>();
+        for (int v = t; v != -1; v = parent[v]) rev.add(v);
+        Collections.reverse(rev);
+        assertEquals(src, rev.get(0));
+        return rev.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,59 @@
+import graph.CsrGraph;
+import graph.scc.ReachabilityIndex;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class ReachabilityIndexTests {
+
+    @Test
+    public void agrees_with_bfs_on_every_pair() {
+        Random rnd = new Random(24);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 6; round++) {
+                int n = 150 + rnd.nextInt(150);
+                int[][] edges = new int[(round % 3 + 1) * n][];
+                for (int i = 0; i < edges.length; i++) edges[i] = new int[]{rnd.nextInt(n), rnd.nextInt(n), 1};
+                CsrGraph g = CsrGraph.of(n, edges);
+                ReachabilityIndex idx = new ReachabilityIndex(g, 1 + round % 4, round, pool);
+                for (int u = 0; u < n; u++) {
+                    boolean[] seen = bfs(g, u);
+                    for (int v = 0; v < n; v++) assertEquals(seen[v], idx.reaches(u, v), u + "->" + v);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void most_queries_skip_the_search() {
+        Random rnd = new Random(3);
+        int n = 5_000;
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 12_000; i++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n);
+            if (a != b) edges.add(new int[]{Math.min(a, b), Math.max(a, b), 1});
+        }
+        ReachabilityIndex idx = new ReachabilityIndex(CsrGraph.of(n, edges));
+        assertEquals(n, idx.components);
+        int queries = 20_000;
+        for (int q = 0; q < queries; q++) idx.reaches(rnd.nextInt(n), rnd.nextInt(n));
+        assertTrue(idx.fallbackSearches() < queries / 2, "fallbacks: " + idx.fallbackSearches());
+        assertTrue(idx.indexBytes() <= 4L * ((2 * 3 + 4 + 1) * n + 1 + edges.size()));  // labels, level/pre/post/offsets, compOf, targets
+    }
+
+    private static boolean[] bfs(CsrGraph g, int s) {
+        boolean[] seen = new boolean[g.n];
+        ArrayDeque<Integer> q = new ArrayDeque<>(List.of(s));
+        seen[s] = true;
+        while (!q.isEmpty()) {
+            int u = q.poll();
+            for (int i = g.offsets[u]; i < g.offsets[u + 1]; i++)
+                if (!seen[g.targets[i]]) { seen[g.targets[i]] = true; q.add(g.targets[i]); }
+        }
+        return seen;
+    }
+}
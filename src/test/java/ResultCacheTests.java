@@ -0,0 +1,91 @@
+import graph.GraphIO;
+import graph.GraphIO.GraphSpec;
+import graph.pipeline.BatchProcessor;
+import graph.pipeline.GraphProcessor;
+import graph.pipeline.GraphResult;
+import graph.pipeline.ResultCache;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class ResultCacheTests {
+
+    @Test
+    public void second_pass_hits_memory_then_disk(@TempDir Path dir) throws Exception {
+        List<GraphSpec> graphs = new ArrayList<>();
+        for (String name : List.of("small.json", "medium.json", "large.json"))
+            graphs.addAll(GraphIO.loadGraphs(Paths.get("src", name).toString()));
+        int distinct = (int) graphs.stream().map(ResultCache::key).distinct().count();
+
+        ResultCache cache = new ResultCache(64 << 20, dir);
+        List<GraphResult> first = new ArrayList<>(), second = new ArrayList<>();
+        try (BatchProcessor bp = BatchProcessor.withThreads(1)) {
+            bp.process(graphs.iterator(), cache::getOrCompute, first::add);
+            bp.process(graphs.iterator(), cache::getOrCompute, second::add);
+        }
+        assertEquals(distinct, cache.misses());
+        assertEquals(2L * graphs.size() - distinct, cache.memoryHits());
+        for (int i = 0; i < graphs.size(); i++) {
+            assertSame(graphs.get(i), second.get(i).graph);
+            assertEquals(stable(first.get(i).toJson()), stable(second.get(i).toJson()));
+        }
+
+        ResultCache cold = new ResultCache(64 << 20, dir);
+        for (GraphSpec g : graphs)
+            assertEquals(stable(GraphProcessor.process(g).toJson()), stable(cold.getOrCompute(g).toJson()));
+        assertEquals(0, cold.misses());
+        assertEquals(distinct, cold.diskHits());
+    }
+
+    @Test
+    public void memory_tier_respects_byte_bound_and_key_ignores_name() throws Exception {
+        List<int[]> edges = List.of(new int[]{0, 1, 2}, new int[]{1, 2, 3}, new int[]{2, 0, 1});
+        GraphSpec a = new GraphSpec("a", true, 3, edges, 0, "edge");
+        GraphSpec renamed = new GraphSpec("b", true, 3, edges, 0, "edge");
+        GraphSpec otherSource = new GraphSpec("a", true, 3, edges, 1, "edge");
+        assertEquals(ResultCache.key(a), ResultCache.key(renamed));
+        assertNotEquals(ResultCache.key(a), ResultCache.key(otherSource));
+
+        ResultCache tiny = new ResultCache(400, null);
+        tiny.getOrCompute(a);
+        assertEquals("b", tiny.getOrCompute(renamed).graph.name);
+        assertEquals(1, tiny.hits());
+        tiny.getOrCompute(otherSource);
+        assertTrue(tiny.memoryBytes() <= 400);
+        assertEquals(1, tiny.memoryEntries());
+        tiny.getOrCompute(a);
+        assertEquals(3, tiny.misses());
+    }
+
+    @Test
+    public void disk_tier_is_bounded_and_store_failures_do_not_abort(@TempDir Path tmp) throws Exception {
+        List<GraphSpec> graphs = GraphIO.loadGraphs(Paths.get("src", "medium.json").toString());
+        Path dir = tmp.resolve("cache");
+        long cap = 4096;
+        ResultCache cache = new ResultCache(0, dir, cap);
+        for (GraphSpec g : graphs) cache.getOrCompute(g);
+        long onDisk = 0;
+        List<Path> kept;
+        try (var files = Files.list(dir)) {
+            kept = files.toList();
+        }
+        for (Path f : kept) onDisk += Files.size(f);
+        assertTrue(onDisk <= cap, "bytes on disk: " + onDisk);
+        assertTrue(kept.size() < graphs.size(), "nothing was evicted");
+        assertEquals(onDisk, cache.diskBytes());
+        assertEquals(onDisk, new ResultCache(0, dir, cap).diskBytes());
+
+        ResultCache broken = new ResultCache(0, tmp.resolve("gone"));
+        Files.delete(tmp.resolve("gone"));
+        for (GraphSpec g : graphs) assertNotNull(broken.getOrCompute(g));
+        assertEquals(graphs.size(), broken.storeFailures());
+    }
+
+    // results without wall-clock timings
+    private static String stable(JSONObject j) {
+        return j.toString().replaceAll("\"time_ns\":\\d+", "");
+    }
+}
@@ -0,0 +1,68 @@
+import graph.GraphIO;
+import graph.pipeline.*;
+import org.json.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class SummaryCsvTests {
+
+    @Test
+    public void rows_written_during_the_batch_match_the_results(@TempDir Path dir) throws Exception {
+        Path in = Paths.get("src", "large.json");
+        Path csv = dir.resolve("summary.csv"), json = dir.resolve("large_results.json"), cols = dir.resolve("cols");
+        try (BatchProcessor bp = BatchProcessor.withThreads(4);
+             ResultJsonWriter j = new ResultJsonWriter(json);
+             SummaryCsvWriter s = new SummaryCsvWriter(csv, "large_results.json", cols)) {
+            bp.processFile(in.toString(), j.andThen(s));
+        }
+
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(String.join(",", SummaryCsvWriter.COLUMNS), lines.get(0));
+        JSONArray graphs = new JSONObject(Files.readString(json)).getJSONArray("graphs");
+        assertEquals(GraphIO.loadGraphs(in.toString()).size(), graphs.length());
+        assertEquals(graphs.length() + 1, lines.size());
+
+        int col = SummaryCsvWriter.COLUMNS.size();
+        IntBuffer sccCount = ints(cols.resolve("scc_count.i32"));
+        LongBuffer sccTime = ByteBuffer.wrap(Files.readAllBytes(cols.resolve("scc_time_ns.i64"))).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        assertEquals(graphs.length(), sccCount.remaining());
+        for (int i = 0; i < graphs.length(); i++) {
+            String[] cells = lines.get(i + 1).split(",", -1);
+            assertEquals(col, cells.length);
+            JSONObject g = graphs.getJSONObject(i), r = g.getJSONObject("results");
+            Map<String, String> row = new HashMap<>();
+            for (int c = 0; c < col; c++) row.put(SummaryCsvWriter.COLUMNS.get(c), cells[c]);
+            assertEquals("large_results.json", row.get("file"));
+            assertEquals(g.getString("name"), row.get("name"));
+            assertEquals(String.valueOf(g.getJSONArray("edges").length()), row.get("m"));
+            assertEquals(String.format(Locale.US, "%.6f", r.getJSONObject("summary").getDouble("density")), row.get("density"));
+            assertEquals(String.valueOf(r.getJSONArray("sccs").length()), row.get("scc_count"));
+            assertEquals(r.getJSONArray("sccs").length(), sccCount.get(i));
+            assertEquals(join(r.getJSONArray("topo_order_vertices"), ";"), row.get("topo_order_vertices"));
+            JSONObject lg = r.getJSONObject("longest_on_condensation");
+            assertEquals(lg.isNull("max_distance") ? "" : String.valueOf(lg.getInt("max_distance")), row.get("long_max_distance"));
+            assertEquals(join(lg.getJSONArray("path_vertices"), "->"), row.get("long_path_vertices"));
+            JSONObject mscc = r.getJSONObject("metrics").getJSONObject("scc");
+            assertEquals(String.valueOf(mscc.getLong("time_ns")), row.get("scc_time_ns"));
+            assertEquals(mscc.getLong("time_ns"), sccTime.get(i));
+            assertEquals(String.valueOf(r.getJSONObject("metrics").getJSONObject("dag_longest").getInt("updated")), row.get("long_updated"));
+        }
+    }
+
+    private static IntBuffer ints(Path p) throws Exception {
+        return ByteBuffer.wrap(Files.readAllBytes(p)).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static String join(JSONArray a, String sep) {
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < a.length(); i++) {
+            if (i > 0) b.append(sep);
+            b.append(a.getInt(i));
+        }
+        return b.toString();
+    }
+}
@@ -0,0 +1,54 @@
+import graph.CsrGraph;
+import graph.scc.TarjanSCC;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+public class TarjanIterativeTests {
+
+    @Test
+    public void iterative_matches_recursive() {
+        for (CsrGraph g : List.of(chain(3_000, true), grid(40, 40), random(2_000, 6_000, 7))) {
+            List<List<Integer>> rec = new TarjanSCC(g).run();
+            List<List<Integer>> it = new TarjanSCC(g).runIterative();
+            assertEquals(rec, it);
+        }
+    }
+
+    @Test
+    public void iterative_handles_million_vertex_chain() {
+        int n = 1_000_000;
+        TarjanSCC t = new TarjanSCC(chain(n, true));
+        List<List<Integer>> comps = t.runIterative();
+        assertEquals(1, comps.size());
+        assertEquals(n, comps.get(0).size());
+        assertEquals(n, new TarjanSCC(chain(n, false)).runIterative().size());
+    }
+
+    private static CsrGraph chain(int n, boolean closeCycle) {
+        List<int[]> es = new ArrayList<>();
+        for (int i = 0; i + 1 < n; i++) es.add(new int[]{i, i + 1, 1});
+        if (closeCycle) es.add(new int[]{n - 1, 0, 1});
+        return CsrGraph.of(n, es);
+    }
+
+    // Right/down edges plus a back edge per row, so every row is one SCC.
+    private static CsrGraph grid(int rows, int cols) {
+        List<int[]> es = new ArrayList<>();
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++) {
+                int v = r * cols + c;
+                if (c + 1 < cols) es.add(new int[]{v, v + 1, 1});
+                if (r + 1 < rows) es.add(new int[]{v, v + cols, 1});
+            }
+        for (int r = 0; r < rows; r++) es.add(new int[]{r * cols + cols - 1, r * cols, 1});
+        return CsrGraph.of(rows * cols, es);
+    }
+
+    private static CsrGraph random(int n, int m, long seed) {
+        Random rnd = new Random(seed);
+        List<int[]> es = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) es.add(new int[]{rnd.nextInt(n), rnd.nextInt(n), 1});
+        return CsrGraph.of(n, es);
+    }
+}
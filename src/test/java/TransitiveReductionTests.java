@@ -0,0 +1,109 @@
+import graph.CsrGraph;
+import graph.GraphIO;
+import graph.GraphIO.GraphSpec;
+import graph.JsonWriter;
+import graph.pipeline.GraphProcessor;
+import graph.pipeline.GraphResult;
+import graph.pipeline.ResultField;
+import graph.scc.Condensation;
+import graph.scc.TarjanSCC;
+import graph.scc.TransitiveReduction;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class TransitiveReductionTests {
+
+    @Test
+    public void keeps_reachability_and_drops_only_implied_edges() {
+        Random rnd = new Random(25);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 8; round++) {
+                int n = 100 + rnd.nextInt(300);
+                int[][] edges = new int[3 * n][];
+                for (int i = 0; i < edges.length; i++) edges[i] = new int[]{rnd.nextInt(n), rnd.nextInt(n), 1 + rnd.nextInt(9)};
+                CsrGraph g = CsrGraph.of(n, edges);
+                TarjanSCC.Fused f = new TarjanSCC(g).runFused(null);
+                CsrGraph dag = Condensation.build(g, f.compOf, f.components.size()).dag;
+
+                TransitiveReduction tr = TransitiveReduction.of(dag, f.topo, 64 * (1 + round % 3), pool);
+                boolean[][] full = closure(dag), reduced = closure(tr.reduced);
+                for (int u = 0; u < dag.n; u++) assertArrayEquals(full[u], reduced[u]);
+                assertEquals(dag.m - tr.reduced.m, tr.removed);
+
+                int expectedKept = 0;
+                for (int u = 0; u < dag.n; u++)
+                    for (int i = dag.offsets[u]; i < dag.offsets[u + 1]; i++) {
+                        int v = dag.targets[i];
+                        boolean implied = false;
+                        for (int j = dag.offsets[u]; j < dag.offsets[u + 1]; j++)
+                            if (dag.targets[j] != v && full[dag.targets[j]][v]) implied = true;
+                        if (!implied) expectedKept++;
+                    }
+                assertEquals(expectedKept, tr.reduced.m);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void repeated_and_implied_edges() {
+        // 0 -> 1 -> 2, plus 0 -> 2 (implied) and a second 0 -> 1
+        CsrGraph dag = CsrGraph.of(3, new int[][]{{0, 1, 4}, {0, 2, 1}, {0, 1, 7}, {1, 2, 2}});
+        TransitiveReduction tr = TransitiveReduction.of(dag, new int[]{0, 1, 2});
+        assertEquals(2, tr.removed);
+        assertArrayEquals(new int[]{1, 2}, tr.reduced.targets);
+        assertArrayEquals(new int[]{4, 2}, tr.reduced.weights);
+        assertThrows(IllegalArgumentException.class, () -> TransitiveReduction.of(dag, new int[]{1, 0, 2}));
+    }
+
+    @Test
+    public void pipeline_emits_the_reduction_only_when_asked() throws Exception {
+        for (GraphSpec g : GraphIO.loadGraphs(Paths.get("src", "medium.json").toString())) {
+            GraphResult plain = GraphProcessor.process(g), r = GraphProcessor.process(g, null, true);
+            assertFalse(plain.hasReduction());
+            assertFalse(plain.toJson().getJSONObject("results").has("reduced_edges_removed"));
+            assertArrayEquals(plain.longest.dist, r.longest.dist);  // paths still use the full DAG
+
+            int C = r.condensationNodes;
+            CsrGraph dag = CsrGraph.of(C, edges(r.dagFrom, r.dagTo, r.dagW)), red = CsrGraph.of(C, edges(r.reducedFrom, r.reducedTo, r.reducedW));
+            boolean[][] full = closure(dag), reduced = closure(red);
+            for (int u = 0; u < C; u++) assertArrayEquals(full[u], reduced[u]);
+            assertEquals(r.dagEdges() - r.reducedTo.length, r.reducedRemoved());
+
+            StringWriter sw = new StringWriter();
+            r.writeJson(new JsonWriter(sw, false), EnumSet.of(ResultField.CONDENSATION_EDGES));
+            JSONObject res = new JSONObject(sw.toString()).getJSONObject("results");
+            assertEquals(r.reducedRemoved(), res.getInt("reduced_edges_removed"));
+            assertEquals(r.reducedTo.length, res.getJSONArray("reduced_condensation_edges").length());
+            assertEquals(r.reducedRemoved(), r.toJson().getJSONObject("results").getInt("reduced_edges_removed"));
+        }
+    }
+
+    private static int[][] edges(int[] from, int[] to, int[] w) {
+        int[][] e = new int[from.length][];
+        for (int i = 0; i < from.length; i++) e[i] = new int[]{from[i], to[i], w[i]};
+        return e;
+    }
+
+    private static boolean[][] closure(CsrGraph g) {
+        boolean[][] r = new boolean[g.n][];
+        for (int s = 0; s < g.n; s++) {
+            boolean[] seen = new boolean[g.n];
+            ArrayDeque<Integer> q = new ArrayDeque<>(List.of(s));
+            while (!q.isEmpty()) {
+                int u = q.poll();
+                for (int i = g.offsets[u]; i < g.offsets[u + 1]; i++)
+                    if (!seen[g.targets[i]]) { seen[g.targets[i]] = true; q.add(g.targets[i]); }
+            }
+            r[s] = seen;
+        }
+        return r;
+    }
+}